@@ -0,0 +1,63 @@
+package br.org.soujava.bsb.api.api.exception;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Resposta 400 de validação: resolução das mensagens e montagem do {@code CustomProblemDetail}
+ * em {@link ApiExceptionHandler#handleMethodArgumentNotValid}. O log de erro do handler fica
+ * desligado para não medir escrita no console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiExceptionHandlerBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int fieldErrors;
+
+    private ApiExceptionHandler handler;
+    private MethodArgumentNotValidException exception;
+    private ServletWebRequest request;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ApiExceptionHandler.class)).setLevel(Level.OFF);
+        handler = new ApiExceptionHandler(new StaticMessageSource(), new SimpleMeterRegistry());
+
+        final var bindingResult = new BeanPropertyBindingResult(new Object(), "ninjaRequest");
+        for (int i = 0; i < fieldErrors; i++) {
+            bindingResult.addError(new FieldError("ninjaRequest", "campo" + i, null, false,
+                    new String[] {"NotBlank.ninjaRequest.campo" + i, "NotBlank"}, null, "Campo " + i + " é obrigatório"));
+        }
+        final var parameter = new MethodParameter(Object.class.getMethod("equals", Object.class), 0);
+        exception = new MethodArgumentNotValidException(parameter, bindingResult);
+        request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> methodArgumentNotValid() {
+        return handler.handleMethodArgumentNotValid(exception, new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
+    }
+}
@@ -0,0 +1,70 @@
+package br.org.soujava.bsb.api.api.v1.response;
+
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialização Jackson ({@code SnakeCaseStrategy} via {@code @JsonNaming}) do corpo de
+ * {@code GET /v1/ninjas/{id}} e de uma página da busca, com o mesmo builder usado pelo Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NinjaJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final NinjaResponse ninja = ninja(1);
+
+    /** Página da busca com {@code pageSize} ninjas. */
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        @Param({"1", "20", "100", "1000"})
+        private int pageSize;
+
+        private PagedModel<NinjaResponse> page;
+
+        @Setup
+        public void setUp() {
+            final List<NinjaResponse> ninjas = new ArrayList<>(pageSize);
+            for (int i = 1; i <= pageSize; i++) {
+                ninjas.add(ninja(i));
+            }
+            page = new PagedModel<>(new PageImpl<>(ninjas, PageRequest.of(0, pageSize), 10_000));
+        }
+    }
+
+    @Benchmark
+    public byte[] ninjaResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ninja);
+    }
+
+    @Benchmark
+    public byte[] pagedModel(Pages pages) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pages.page);
+    }
+
+    private static NinjaResponse ninja(int id) {
+        return new NinjaResponse(id, "Ninja " + id, id % 2 == 0 ? "Konoha" : "Sunagakure", "Uzumaki", Rank.JOUNIN,
+                ChakraTipo.VENTO, "Ninjutsu", "Rinnegan", Status.ATIVO, id % 100 + 1, LocalDate.of(2024, 1, 1).plusDays(id % 365), 0);
+    }
+}
@@ -0,0 +1,87 @@
+package br.org.soujava.bsb.api.core.mapper;
+
+import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Custo de CPU e alocação do MapStruct por requisição: um ninja, uma lista e uma página.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NinjaMapperBenchmark {
+
+    private final NinjaEntity ninja = ninja(1);
+
+    /** Lista e página de {@code pageSize} ninjas. */
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        @Param({"1", "20", "100", "1000"})
+        private int pageSize;
+
+        private List<NinjaEntity> ninjas;
+        private Page<NinjaEntity> page;
+
+        @Setup
+        public void setUp() {
+            ninjas = new ArrayList<>(pageSize);
+            for (int i = 1; i <= pageSize; i++) {
+                ninjas.add(ninja(i));
+            }
+            page = new PageImpl<>(ninjas, PageRequest.of(0, pageSize), 10_000);
+        }
+    }
+
+    @Benchmark
+    public NinjaResponse toResponse() {
+        return MAPPER.toResponse(ninja);
+    }
+
+    @Benchmark
+    public List<NinjaResponse> toListResponse(Pages pages) {
+        return MAPPER.toListResponse(pages.ninjas);
+    }
+
+    @Benchmark
+    public Page<NinjaResponse> toPageResponse(Pages pages) {
+        return MAPPER.toPageResponse(pages.page);
+    }
+
+    static NinjaEntity ninja(int id) {
+        final NinjaEntity ninja = new NinjaEntity();
+        ninja.setId(id);
+        ninja.setNome("Ninja " + id);
+        ninja.setVila(id % 2 == 0 ? "Konoha" : "Sunagakure");
+        ninja.setCla("Uzumaki");
+        ninja.setRank(Rank.JOUNIN);
+        ninja.setChakraTipo(ChakraTipo.VENTO);
+        ninja.setEspecialidade("Ninjutsu");
+        ninja.setKekkeiGenkai("Rinnegan");
+        ninja.setStatus(Status.ATIVO);
+        ninja.setNivelForca(id % 100 + 1);
+        ninja.setDataRegistro(LocalDate.of(2024, 1, 1).plusDays(id % 365));
+        ninja.setVersion(0);
+        return ninja;
+    }
+}
@@ -0,0 +1,67 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Autocomplete de {@code GET /v1/ninjas/suggest} (10 sugestões) numa trie com {@code ninjas} nomes
+ * sintéticos de duas palavras, para prefixos de 1, 3 e 6 letras e um que não existe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NinjaNameSuggestionsBenchmark {
+
+    private static final String[] SILABAS = {"na", "ru", "to", "sa", "su", "ke", "ka", "shi", "ri", "mi", "ta", "chi", "ha", "ya", "ro"};
+
+    @Param({"100000", "1000000"})
+    private int ninjas;
+
+    @Param({"n", "nar", "naruto", "xyz"})
+    private String prefix;
+
+    private final NinjaNameSuggestions suggestions = new NinjaNameSuggestions();
+
+    @Setup
+    public void setUp() {
+        final var random = new SplittableRandom(42);
+        suggestions.rebuild(consumer -> {
+            for (int i = 1; i <= ninjas; i++) {
+                final var ninja = new NinjaEntity();
+                ninja.setId(i);
+                ninja.setNome(word(random) + " " + word(random));
+                ninja.setNivelForca(random.nextInt(1, 101));
+                consumer.accept(ninja);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<NinjaSuggestionResponse> suggest() {
+        return suggestions.suggest(prefix, 10, NinjaNameSuggestionsBenchmark::unavailable);
+    }
+
+    private static String word(SplittableRandom random) {
+        final var word = new StringBuilder();
+        for (int i = random.nextInt(2, 5); i > 0; i--) {
+            word.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void unavailable(Consumer<NinjaEntity> consumer) {
+        throw new IllegalStateException("suggestions already built in setUp");
+    }
+}
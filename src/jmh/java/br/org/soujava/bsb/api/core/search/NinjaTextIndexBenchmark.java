@@ -0,0 +1,63 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Busca de {@code GET /v1/ninjas/search} (top 20 por BM25) num índice com {@code ninjas} ninjas
+ * sintéticos: um termo único ({@code n424242}), um sobrenome (1 em 200), um kekkei_genkai (1 em 60),
+ * os dois juntos e uma especialidade que aparece em 1 de cada 6 ninjas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NinjaTextIndexBenchmark {
+
+    private static final List<String> ESPECIALIDADES = List.of("Ninjutsu", "Genjutsu", "Taijutsu", "Fūinjutsu", "Kenjutsu", "Iryō Ninjutsu");
+
+    @Param({"1000000"})
+    private int ninjas;
+
+    @Param({"n424242", "uchiha", "sharingan", "uchiha sharingan", "genjutsu"})
+    private String query;
+
+    private final NinjaTextIndex index = new NinjaTextIndex();
+
+    @Setup
+    public void setUp() {
+        final var random = new SplittableRandom(42);
+        index.rebuild(consumer -> {
+            for (int i = 1; i <= ninjas; i++) {
+                final var ninja = new NinjaEntity();
+                ninja.setId(i);
+                ninja.setNome("N" + i + " " + (i % 200 == 0 ? "Uchiha" : "Sobrenome" + random.nextInt(1_000)));
+                ninja.setEspecialidade(ESPECIALIDADES.get(random.nextInt(ESPECIALIDADES.size())));
+                ninja.setKekkeiGenkai(random.nextInt(3) == 0 ? "KekkeiGenkai" + random.nextInt(20) : null);
+                if (ninja.getKekkeiGenkai() != null && ninja.getKekkeiGenkai().endsWith("Genkai0")) {
+                    ninja.setKekkeiGenkai(random.nextBoolean() ? "Sharingan" : "Sharingan/Rinnegan");
+                }
+                consumer.accept(ninja);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<NinjaTextIndex.Hit> search() {
+        return index.search(query, 20, NinjaTextIndexBenchmark::unavailable);
+    }
+
+    private static void unavailable(Consumer<NinjaEntity> consumer) {
+        throw new IllegalStateException("index already built in setUp");
+    }
+}
@@ -0,0 +1,88 @@
+package br.org.soujava.bsb.api.domain.specification;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import jakarta.persistence.criteria.CriteriaQuery;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Montagem da consulta da busca, sem ir ao banco: normalização + {@link Specification}, o
+ * {@link CriteriaQuery} com predicados e ordenação, e o {@code createQuery} do Hibernate (conversão
+ * para SQM, com o cache de planos de Criteria ligado como no application.yml).
+ *
+ * <p>Substitui o antigo caminho {@code MAPPER.toEntity(NinjaQueryRequest)} + {@code Example.of}, que
+ * deixou de existir com a busca por Specification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NinjaSpecificationsBenchmark {
+
+    private static final Sort SORT = Sort.by(Sort.Order.desc("nivelForca"), Sort.Order.asc("id"));
+
+    private final NinjaQueryRequest query = new NinjaQueryRequest(" Na", List.of("Sunagakure", "Konoha", "Konoha"),
+            null, List.of("Jounin", "Kage"), null, null, null, List.of("Ativo"), null, 50, 100, null, null);
+
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(NinjaEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:jmh;MODE=MYSQL")
+                .setProperty("hibernate.criteria.plan_cache_enabled", "true")
+                .setProperty(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Specification<NinjaEntity> specification() {
+        return NinjaSpecifications.of(query);
+    }
+
+    @Benchmark
+    public CriteriaQuery<NinjaEntity> criteriaQuery() {
+        return criteria();
+    }
+
+    @Benchmark
+    public Query<NinjaEntity> hibernateQuery() {
+        return session.createQuery(criteria());
+    }
+
+    private CriteriaQuery<NinjaEntity> criteria() {
+        final var builder = sessionFactory.getCriteriaBuilder();
+        final var criteria = builder.createQuery(NinjaEntity.class);
+        final var root = criteria.from(NinjaEntity.class);
+        final var predicate = NinjaSpecifications.of(query).toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        return criteria.select(root).orderBy(QueryUtils.toOrders(SORT, root, builder));
+    }
+}
@@ -2,13 +2,20 @@ package br.org.soujava.bsb.api.api.exception;
 
 import br.org.soujava.bsb.api.api.v1.response.CustomProblemDetail;
 import br.org.soujava.bsb.api.api.v1.response.ErrorResponse;
+import br.org.soujava.bsb.api.domain.exception.BatchValidationException;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionRequiredException;
 import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -27,10 +34,16 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiExceptionHandler.class);
+    private static final String ERRORS_METRIC = "ninja.api.errors";
+
     private final MessageSource messageSource;
+    private final Counter notFound;
+    private final Counter validationFailed;
 
-    public ApiExceptionHandler(MessageSource messageSource) {
+    public ApiExceptionHandler(MessageSource messageSource, MeterRegistry registry) {
         this.messageSource = messageSource;
+        this.notFound = errorCounter(registry, "not_found");
+        this.validationFailed = errorCounter(registry, "validation");
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -49,6 +62,7 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         final HttpServletRequest httpServletRequest = ((ServletWebRequest) request).getRequest();
         ServerHttpObservationFilter.findObservationContext(httpServletRequest).ifPresent(context -> context.setError(ex));
 
+        validationFailed.increment();
         LOGGER.error("Validation failed: {}", errors);
 
         return super.handleExceptionInternal(ex, problemDetail, headers, status, request);
@@ -61,8 +75,73 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         final ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
         problemDetail.setTitle(HttpStatus.NOT_FOUND.getReasonPhrase());
         ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));;
+        notFound.increment();
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BatchValidationException.class)
+    private ResponseEntity<ProblemDetail> handleBatchValidationException(HttpServletRequest request, BatchValidationException ex) {
+
+        final CustomProblemDetail problemDetail =
+                new CustomProblemDetail(HttpStatus.BAD_REQUEST, "Validation failed", "The following errors occurred:", ex.getErrors());
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+
+        validationFailed.increment();
+        LOGGER.error("Batch validation failed: {}", ex.getErrors());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BusinessException.class)
+    private ResponseEntity<ProblemDetail> handleBusinessException(HttpServletRequest request, BusinessException ex) {
+
+        final ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setTitle(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(PreconditionFailedException.class)
+    private ResponseEntity<ProblemDetail> handlePreconditionFailedException(HttpServletRequest request, PreconditionFailedException ex) {
+
+        final ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        problemDetail.setTitle(HttpStatus.PRECONDITION_FAILED.getReasonPhrase());
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(problemDetail);
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_REQUIRED)
+    @ExceptionHandler(PreconditionRequiredException.class)
+    private ResponseEntity<ProblemDetail> handlePreconditionRequiredException(HttpServletRequest request, PreconditionRequiredException ex) {
+
+        final ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_REQUIRED, ex.getMessage());
+        problemDetail.setTitle(HttpStatus.PRECONDITION_REQUIRED.getReasonPhrase());
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(problemDetail);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    private ResponseEntity<ProblemDetail> handleOptimisticLockingFailureException(HttpServletRequest request, OptimisticLockingFailureException ex) {
+
+        final ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Ninja was modified concurrently");
+        problemDetail.setTitle(HttpStatus.CONFLICT.getReasonPhrase());
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+    }
+
+    private static Counter errorCounter(MeterRegistry registry, String reason) {
+        return Counter.builder(ERRORS_METRIC)
+                .description("Respostas de erro da API por motivo (404, falha de validação)")
+                .tag("reason", reason)
+                .register(registry);
+    }
 }
@@ -4,91 +4,444 @@ import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
 
 import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
 import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.api.v1.response.ErrorResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBatchResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBulkDeleteResponse;
 import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.api.v1.response.SliceResponse;
+import br.org.soujava.bsb.api.core.cache.NinjaJsonCache;
+import br.org.soujava.bsb.api.core.etag.NinjaETag;
+import br.org.soujava.bsb.api.core.export.ExportFormat;
+import br.org.soujava.bsb.api.core.export.NinjaExportWriter;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.core.projection.NinjaFields;
+import br.org.soujava.bsb.api.core.search.NinjaNameSuggestions;
 import br.org.soujava.bsb.api.core.validation.Groups;
+import br.org.soujava.bsb.api.domain.exception.BatchValidationException;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionRequiredException;
 import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
 import br.org.soujava.bsb.api.domain.service.NinjaService;
+import br.org.soujava.bsb.api.domain.specification.NinjaSpecifications;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedModel;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StopWatch;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/v1/ninjas")
-public record NinjaController(NinjaService service) {
+public record NinjaController(NinjaService service, NinjaJsonCache jsonCache, NinjaProperties properties, Validator validator,
+                              ObjectMapper objectMapper) {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NinjaController.class);
+    private static final String PREFER = "Prefer";
+    private static final String RETURN_MINIMAL = "return=minimal";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    /** Parâmetro {@code patch} de {@link #readPatch}, referência dos erros de validação do merge patch. */
+    private static final MethodParameter READ_PATCH = new MethodParameter(
+            Objects.requireNonNull(ReflectionUtils.findMethod(NinjaController.class, "readPatch", JsonNode.class, Set.class)), 0);
+    /** Campos do merge patch (JSON) e o atributo de {@code NinjaEntity} correspondente. */
+    private static final Map<String, String> PATCHABLE = Map.of(
+            "nome", "nome",
+            "vila", "vila",
+            "cla", "cla",
+            "rank", "rank",
+            "chakra_tipo", "chakraTipo",
+            "especialidade", "especialidade",
+            "kekkei_genkai", "kekkeiGenkai",
+            "status", "status",
+            "nivel_forca", "nivelForca",
+            "data_registro", "dataRegistro");
 
     @PostMapping
     public ResponseEntity<NinjaResponse> create(@Validated(Groups.Create.class) @RequestBody NinjaRequest request) {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         LOGGER.debug("Function started 'create ninja'");
         final var response = MAPPER.toResponse(service.create(request));
-        stopWatch.stop();
-        LOGGER.debug("finished function with sucess 'create ninja {}' in {} ms", response, stopWatch.getTotalTimeMillis());
+        LOGGER.debug("finished function with sucess 'create ninja {}'", response);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/batch")
+    public ResponseEntity<NinjaBatchResponse> createBatch(@RequestBody List<NinjaRequest> requests) {
+        LOGGER.debug("Function started 'create ninjas in batch' with {} items", requests.size());
+        if (requests.size() > properties.batch().maxItems()) {
+            throw new BusinessException("Batch has " + requests.size() + " items; the limit is " + properties.batch().maxItems());
+        }
+        validateBatch(requests);
+        final var ids = service.createAll(requests);
+        LOGGER.debug("finished function with sucess 'create ninjas in batch' {} items", ids.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new NinjaBatchResponse(ids.size(), ids));
+    }
+
     @GetMapping(value = "/{id}")
-    public ResponseEntity<NinjaResponse> getById(@PathVariable Integer id) throws ResourceNotFoundException {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = NinjaResponse.class)))
+    public ResponseEntity<ByteBuffer> getById(@PathVariable Integer id, WebRequest request) throws ResourceNotFoundException {
         LOGGER.debug("Function started 'getById ninja' with id {}", id);
-        final var ninja = service.findById(id);
-        final var response = MAPPER.toResponse(ninja);
-        stopWatch.stop();
-        LOGGER.debug("finished function with sucess 'getById ninja' {} in {} ms", response, stopWatch.getTotalTimeMillis());
-        return ResponseEntity.ok().body(response);
+        var entry = jsonCache.getIfPresent(id);
+        if (entry == null && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // fora do cache: confere só a versão antes de carregar e serializar o ninja
+            final var etag = NinjaETag.of(id, service.findVersion(id));
+            if (request.checkNotModified(etag)) {
+                LOGGER.debug("finished function with sucess 'getById ninja' {} not modified", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        if (entry == null) {
+            entry = jsonCache.get(id, () -> MAPPER.toResponse(service.findById(id)));
+        }
+        LOGGER.debug("finished function with sucess 'getById ninja' {} ({} bytes)", id, entry.json().remaining());
+        // com ETag na resposta, If-None-Match igual vira 304 sem escrever o corpo
+        return ResponseEntity.ok().eTag(entry.etag()).contentType(MediaType.APPLICATION_JSON).body(entry.json());
+    }
+
+    /**
+     * {@code ?fields=nome,vila}: o SELECT traz só essas colunas (mais id e versão) e o JSON só esses
+     * campos. Não passa pelo cache de JSON, que guarda o ninja completo.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<NinjaResponse> getByIdFields(@PathVariable Integer id, @RequestParam String fields, WebRequest request)
+            throws ResourceNotFoundException {
+        LOGGER.debug("Function started 'getById ninja' with id {} and fields {}", id, fields);
+        final var projection = NinjaFields.parse(fields);
+        final var ninja = service.findFields(id, projection.selection());
+        final var etag = NinjaETag.weak(id, ninja.get("version", Integer.class));
+        if (request.checkNotModified(etag)) {
+            LOGGER.debug("finished function with sucess 'getById ninja' {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        LOGGER.debug("finished function with sucess 'getById ninja' {} fields {}", id, projection.attributes());
+        return ResponseEntity.ok().eTag(etag).body(projection.toResponse(ninja));
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<NinjaResponse>> search(@ModelAttribute NinjaQueryRequest query, Pageable page) {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        LOGGER.info("Function started 'find ninja'");
-        final var pageEntity = service.search(query, page);
-        stopWatch.stop();
-        LOGGER.info("finished function with ninja 'find person' in {} ms", stopWatch.getTotalTimeMillis());
+    public ResponseEntity<PagedModel<NinjaResponse>> search(@ModelAttribute NinjaQueryRequest query, Pageable page, WebRequest request) {
+        LOGGER.debug("Function started 'find ninja'");
+        final var pageResponse = service.search(query, page);
+        final var etag = NinjaETag.of(pageResponse);
+        if (request.checkNotModified(etag)) {
+            LOGGER.debug("finished function with ninja 'find person' not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        LOGGER.debug("finished function with ninja 'find person'");
+
+        return ResponseEntity.ok().eTag(etag).body(new PagedModel<>(pageResponse));
+    }
+
+    /**
+     * Busca paginada com {@code ?fields=}: mesma consulta de {@link #search}, projetada nas colunas
+     * pedidas.
+     */
+    @GetMapping(params = {"fields", "with_total!=false", "!cursor"})
+    public ResponseEntity<PagedModel<NinjaResponse>> searchFields(@ModelAttribute NinjaQueryRequest query, @RequestParam String fields,
+                                                                  Pageable page, WebRequest request) {
+        LOGGER.debug("Function started 'find ninja' with fields {}", fields);
+        final var projection = NinjaFields.parse(fields);
+        final var pageTuple = service.searchFields(query, projection.selection(), page);
+        final var etag = NinjaETag.of(pageTuple, projection);
+        if (request.checkNotModified(etag)) {
+            LOGGER.debug("finished function with ninja 'find person' not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        LOGGER.debug("finished function with ninja 'find person' fields {}", projection.attributes());
+
+        return ResponseEntity.ok().eTag(etag).body(new PagedModel<>(pageTuple.map(projection::toResponse)));
+    }
+
+    @GetMapping(params = {"with_total=false", "!cursor"})
+    public ResponseEntity<SliceResponse<NinjaResponse>> searchWithoutTotal(@ModelAttribute NinjaQueryRequest query, Pageable page) {
+        LOGGER.debug("Function started 'find ninja without total'");
+        final var slice = service.searchSlice(query, page);
+        LOGGER.debug("finished function with ninja 'find ninja without total'");
 
-        return ResponseEntity.ok().body(new PagedModel<>(MAPPER.toPageResponse(pageEntity)));
+        return ResponseEntity.ok().body(new SliceResponse<>(MAPPER.toListResponse(slice.getContent()),
+                new SliceResponse.Metadata(slice.getSize(), slice.getNumber(), slice.hasNext()), null));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<SliceResponse<NinjaResponse>> searchByCursor(@ModelAttribute NinjaQueryRequest query,
+                                                                      @RequestParam String cursor,
+                                                                      @PageableDefault(sort = "nivelForca", direction = Sort.Direction.DESC) Pageable page) {
+        LOGGER.debug("Function started 'find ninja by cursor'");
+        final var keyset = cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        final var order = keyset != null ? keyset.order() : KeysetCursor.requireSortable(page.getSort().iterator().next());
+        final var slice = service.searchAfter(query, order, keyset, page.getPageSize());
+        final var nextCursor = slice.hasNext() ? KeysetCursor.after(slice.getContent().getLast(), order).encode() : null;
+        LOGGER.debug("finished function with ninja 'find ninja by cursor'");
+
+        return ResponseEntity.ok().body(new SliceResponse<>(MAPPER.toListResponse(slice.getContent()),
+                new SliceResponse.Metadata(slice.getSize(), null, slice.hasNext()), nextCursor));
+    }
+
+    /**
+     * Busca textual em nome, especialidade e kekkei_genkai, sem diferenciar acentos nem maiúsculas,
+     * do mais relevante para o menos (BM25); {@code sort} é ignorado.
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<SliceResponse<NinjaResponse>> searchText(@RequestParam String q, Pageable page) {
+        LOGGER.debug("Function started 'search ninja text' {}", q);
+        final var slice = service.searchText(q, page);
+        LOGGER.debug("finished function with sucess 'search ninja text'");
+
+        return ResponseEntity.ok().body(new SliceResponse<>(slice.getContent(),
+                new SliceResponse.Metadata(slice.getSize(), slice.getNumber(), slice.hasNext()), null));
+    }
+
+    /**
+     * Autocomplete: ninjas com alguma palavra do nome começando por {@code prefix}, sem diferenciar
+     * acentos nem maiúsculas, do maior nivel_forca para o menor. Servido da memória.
+     */
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<NinjaSuggestionResponse>> suggest(@RequestParam String prefix,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > NinjaNameSuggestions.MAX_LIMIT) {
+            throw new BusinessException("limit must be between 1 and " + NinjaNameSuggestions.MAX_LIMIT);
+        }
+        LOGGER.debug("Function started 'suggest ninja' {}", prefix);
+        final var suggestions = service.suggest(prefix, limit);
+        LOGGER.debug("finished function with sucess 'suggest ninja' {} suggestions", suggestions.size());
+
+        return ResponseEntity.ok().body(suggestions);
+    }
+
+    /**
+     * Contagem por vila, rank, status e chakra_tipo, com média e máximo de nivel_forca, aceitando os
+     * filtros da busca. Sem filtros a resposta vem da memória, sem consultar o banco.
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<NinjaStatsResponse> stats(@ModelAttribute NinjaQueryRequest query) {
+        LOGGER.debug("Function started 'stats ninjas'");
+        final var stats = service.stats(query);
+        LOGGER.debug("finished function with sucess 'stats ninjas' total {}", stats.total());
+
+        return ResponseEntity.ok().body(stats);
+    }
+
+    /**
+     * Escreve a exportação direto na resposta, numa tarefa assíncrona com o tempo limite próprio de
+     * {@code ninja.export.timeout}; as demais requisições assíncronas mantêm o padrão do Spring MVC.
+     */
+    @GetMapping(value = "/export")
+    public WebAsyncTask<Void> export(@ModelAttribute NinjaQueryRequest query,
+                                     @SortDefault("id") Sort sort,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept,
+                                     HttpServletResponse response) throws HttpMediaTypeNotAcceptableException {
+        final var format = ExportFormat.fromAccept(accept);
+        LOGGER.info("Function started 'export ninjas' as {}", format);
+        response.setContentType(format.mediaType().toString());
+        return new WebAsyncTask<>(properties.export().timeout().toMillis(), () -> {
+            final AtomicLong rows = new AtomicLong();
+            try (NinjaExportWriter writer = NinjaExportWriter.of(format, objectMapper, response.getOutputStream())) {
+                service.export(query, sort, ninja -> {
+                    writer.write(MAPPER.toResponse(ninja));
+                    rows.incrementAndGet();
+                });
+            }
+            LOGGER.info("finished function with sucess 'export ninjas' {} rows", rows.get());
+            return null;
+        });
+    }
+
+    /**
+     * Exige {@code If-Match} com a ETag do ninja (428 sem o cabeçalho, 412 se a versão mudou). Com
+     * {@code Prefer: return=minimal} responde 204 só com a nova ETag, sem reler o registro.
+     */
     @PutMapping(value = "/{id}")
     public ResponseEntity<NinjaResponse> update(@PathVariable Integer id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestHeader(value = PREFER, required = false) String prefer,
                                                 @Validated(Groups.Update.class)
                                                 @RequestBody NinjaRequest request) throws ResourceNotFoundException {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         LOGGER.debug("Function started 'update ninja'");
-        final var ninja = service.update(id, request);
-        stopWatch.stop();
-        LOGGER.debug("finished function with sucess 'update ninja' {} in {} ms", ninja, stopWatch.getTotalTimeMillis());
-        return ResponseEntity.status(HttpStatus.OK).body(MAPPER.toResponse(ninja));
+        if (ifMatch == null) {
+            throw new PreconditionRequiredException("If-Match header is required to update ninja " + id);
+        }
+        final Integer expectedVersion = NinjaETag.expectedVersion(id, ifMatch);
+        if (expectedVersion == null) {
+            // If-Match: * -> lê, mescla e grava; o @Version ainda detecta escrita concorrente
+            final var ninja = service.update(id, request);
+            LOGGER.debug("finished function with sucess 'update ninja' {}", ninja);
+            return ResponseEntity.status(HttpStatus.OK).eTag(NinjaETag.of(id, ninja.getVersion())).body(MAPPER.toResponse(ninja));
+        }
+        final var version = service.update(id, expectedVersion, request);
+        if (RETURN_MINIMAL.equalsIgnoreCase(prefer)) {
+            LOGGER.debug("finished function with sucess 'update ninja' {} to version {}", id, version);
+            return ResponseEntity.noContent().eTag(NinjaETag.of(id, version)).build();
+        }
+        final var ninja = service.findById(id);
+        LOGGER.debug("finished function with sucess 'update ninja' {}", ninja);
+        return ResponseEntity.status(HttpStatus.OK).eTag(NinjaETag.of(id, ninja.getVersion())).body(MAPPER.toResponse(ninja));
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7386): só os campos presentes são gravados, e {@code null} limpa o campo.
+     * O UPDATE tem apenas as colunas alteradas; {@code If-Match} é opcional e, quando enviado,
+     * condiciona a escrita à versão.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<NinjaResponse> patch(@PathVariable Integer id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @RequestHeader(value = PREFER, required = false) String prefer,
+                                               @RequestBody JsonNode patch)
+            throws ResourceNotFoundException, MethodArgumentNotValidException {
+        LOGGER.debug("Function started 'patch ninja' with id {}", id);
+        final Set<String> attributes = new LinkedHashSet<>();
+        final NinjaRequest request = readPatch(patch, attributes);
+
+        final Integer expectedVersion = ifMatch == null ? null : NinjaETag.expectedVersion(id, ifMatch);
+        final Integer version = service.patch(id, expectedVersion, MAPPER.toEntity(request), attributes);
+        if (RETURN_MINIMAL.equalsIgnoreCase(prefer)) {
+            LOGGER.debug("finished function with sucess 'patch ninja' {} {}", id, attributes);
+            final var noContent = ResponseEntity.noContent();
+            return version == null ? noContent.build() : noContent.eTag(NinjaETag.of(id, version)).build();
+        }
+        final var ninja = service.findById(id);
+        LOGGER.debug("finished function with sucess 'patch ninja' {} {}", id, attributes);
+        return ResponseEntity.ok().eTag(NinjaETag.of(id, ninja.getVersion())).body(MAPPER.toResponse(ninja));
+    }
+
+    /**
+     * Merge patch de todos os ninjas dos filtros da busca ({@code PATCH /v1/ninjas?vila=Konoha&status=Ativo}),
+     * com um único UPDATE numa transação. Exige ao menos um filtro; acima de {@code ninja.bulk.max-rows}
+     * ninjas responde 400 sem gravar nada. Devolve a quantidade e os ids alterados.
+     */
+    @PatchMapping(consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<NinjaBatchResponse> patchAll(@ModelAttribute NinjaQueryRequest query, @RequestBody JsonNode patch)
+            throws MethodArgumentNotValidException {
+        LOGGER.debug("Function started 'patch ninjas by filter' with {}", query);
+        final Set<String> attributes = new LinkedHashSet<>();
+        final NinjaRequest request = readPatch(patch, attributes);
+        final var ids = service.patchAll(query, MAPPER.toEntity(request), attributes);
+        LOGGER.debug("finished function with sucess 'patch ninjas by filter' {} items {}", ids.size(), attributes);
+        return ResponseEntity.ok(new NinjaBatchResponse(ids.size(), ids));
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> exists(@PathVariable Integer id) {
+        LOGGER.debug("Function started 'exists ninja' with id {}", id);
+        final boolean exists = service.exists(id);
+        LOGGER.debug("finished function with sucess 'exists ninja' {} = {}", id, exists);
+
+        return exists ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
 
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) throws ResourceNotFoundException {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         LOGGER.debug("Function started 'delete ninja' with id {}", id);
         service.delete(id);
-        stopWatch.stop();
-        LOGGER.debug("finished function with sucess 'delete person' in {} ms", stopWatch.getTotalTimeMillis());
+        LOGGER.debug("finished function with sucess 'delete person'");
 
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exclusão em massa por uma lista de ids no corpo ({@code [1, 2, 3]}) ou pelos filtros da busca
+     * ({@code DELETE /v1/ninjas?vila=Konoha&status=Renegado}), nunca os dois. Executa em lotes, cada um na
+     * sua transação; ids inexistentes não falham a requisição e voltam em {@code missing}.
+     */
+    @DeleteMapping
+    public ResponseEntity<NinjaBulkDeleteResponse> deleteAll(@ModelAttribute NinjaQueryRequest query,
+                                                             @RequestBody(required = false) List<Integer> ids) {
+        LOGGER.debug("Function started 'delete ninjas in bulk' with {}", ids == null ? query : ids.size() + " ids");
+        if (ids != null && NinjaSpecifications.hasFilters(query)) {
+            throw new BusinessException("Bulk delete takes either ids or filters, not both");
+        }
+        final var response = ids == null ? service.deleteAll(query) : service.deleteAll(ids);
+        LOGGER.debug("finished function with sucess 'delete ninjas in bulk' {}", response);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Lê o merge patch, acrescentando a {@code attributes} o atributo de cada campo enviado, e valida
+     * esses campos com as regras da criação (nulo em campo obrigatório falha aqui). Erros de campo saem
+     * como {@link MethodArgumentNotValidException}, a mesma resposta de um corpo inválido no POST ou PUT.
+     */
+    private NinjaRequest readPatch(JsonNode patch, Set<String> attributes) throws MethodArgumentNotValidException {
+        if (!patch.isObject()) {
+            throw new BusinessException("Merge patch must be a JSON object");
+        }
+        final NinjaRequest request;
+        try {
+            request = objectMapper.treeToValue(patch, NinjaRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Invalid merge patch: " + e.getOriginalMessage(), e);
+        }
+        final var errors = new BeanPropertyBindingResult(request, "patch");
+        patch.fieldNames().forEachRemaining(field -> {
+            final String attribute = PATCHABLE.get(field);
+            if (attribute == null) {
+                throw new BusinessException("Field " + field + " cannot be patched");
+            }
+            attributes.add(attribute);
+            validator.validateProperty(request, attribute, Groups.Create.class).forEach(violation -> errors.addError(
+                    new FieldError("patch", field, violation.getInvalidValue(), false, null, null, violation.getMessage())));
+        });
+        if (errors.hasErrors()) {
+            throw new MethodArgumentNotValidException(READ_PATCH, errors);
+        }
+        return request;
+    }
+
+    private void validateBatch(List<NinjaRequest> requests) {
+        final List<ErrorResponse> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                errors.add(new ErrorResponse("[" + i + "]", "must not be null"));
+                continue;
+            }
+            final String prefix = "[" + i + "].";
+            validator.validate(requests.get(i), Groups.Create.class).forEach(violation ->
+                    errors.add(new ErrorResponse(prefix + violation.getPropertyPath(), violation.getMessage())));
+        }
+        if (!errors.isEmpty()) {
+            throw new BatchValidationException(errors);
+        }
+    }
 }
@@ -3,22 +3,39 @@ package br.org.soujava.bsb.api.api.v1.request;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.BindParam;
 
+/**
+ * Filtros da busca de ninjas. {@code nome} é busca por prefixo; os filtros em lista aceitam
+ * vários valores ({@code vila=Konoha,Sunagakure}); {@code _min}/{@code _max} são faixas inclusivas.
+ */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public record NinjaQueryRequest(
     String nome,
-    String vila,
-    String cla,
-    String rank,
+    List<String> vila,
+    List<String> cla,
+    List<String> rank,
     @BindParam("chakra_tipo")
-    String chakraTipo,
-    String especialidade,
+    List<String> chakraTipo,
+    List<String> especialidade,
     @BindParam("kekkei_genkai")
-    String kekkeiGenkai,
-    String status,
+    List<String> kekkeiGenkai,
+    List<String> status,
     @BindParam("nivel_forca")
-    Integer nivelForca
+    Integer nivelForca,
+    @BindParam("nivel_forca_min")
+    Integer nivelForcaMin,
+    @BindParam("nivel_forca_max")
+    Integer nivelForcaMax,
+    @BindParam("data_registro_min")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dataRegistroMin,
+    @BindParam("data_registro_max")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dataRegistroMax
 ) {
 }
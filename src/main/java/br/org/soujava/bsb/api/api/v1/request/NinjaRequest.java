@@ -1,6 +1,10 @@
 package br.org.soujava.bsb.api.api.v1.request;
 
+import br.org.soujava.bsb.api.core.validation.CodedValue;
 import br.org.soujava.bsb.api.core.validation.Groups;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -23,14 +27,15 @@ public record NinjaRequest(
     String cla,
 
     @NotBlank(message = "Rank é obrigatório", groups = Groups.Create.class)
-    @Size(max = 20, message = "Rank deve ter no máximo 20 caracteres", groups = Groups.Create.class)
-    @Pattern(regexp = "^(Genin|Chunin|Jounin|Kage)$",
-             message = "Rank deve ser: Genin, Chunin, Jounin ou Kage",
-             groups = Groups.Create.class)
+    @CodedValue(value = Rank.class,
+                 message = "Rank deve ser: Genin, Chunin, Jounin, Sannin, Kage, Hokage, Kazekage, Mizukage, Raikage ou Tsuchikage",
+                 groups = {Groups.Create.class, Groups.Update.class})
     String rank,
 
     @NotBlank(message = "Tipo de chakra é obrigatório", groups = Groups.Create.class)
-    @Size(max = 30, message = "Tipo de chakra deve ter no máximo 30 caracteres", groups = Groups.Create.class)
+    @CodedValue(value = ChakraTipo.class,
+                 message = "Tipo de chakra deve ser: Fogo, Vento, Raio, Terra, Água, Yin ou Yang",
+                 groups = {Groups.Create.class, Groups.Update.class})
     String chakraTipo,
 
     @Size(max = 50, message = "Especialidade deve ter no máximo 50 caracteres", groups = Groups.Create.class)
@@ -39,10 +44,9 @@ public record NinjaRequest(
     @Size(max = 50, message = "Kekkei Genkai deve ter no máximo 50 caracteres", groups = Groups.Create.class)
     String kekkeiGenkai,
 
-    @Size(max = 20, message = "Status deve ter no máximo 20 caracteres", groups = Groups.Create.class)
-    @Pattern(regexp = "^(Ativo|Desaparecido|Renegado)$",
-             message = "Status deve ser: Ativo, Desaparecido ou Renegado",
-             groups = Groups.Create.class)
+    @CodedValue(value = Status.class,
+                 message = "Status deve ser: Ativo, Desaparecido ou Renegado",
+                 groups = {Groups.Create.class, Groups.Update.class})
     String status,
 
     @Min(value = 1, message = "Nível de força deve ser no mínimo 1", groups = Groups.Create.class)
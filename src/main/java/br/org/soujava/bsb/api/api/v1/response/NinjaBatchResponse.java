@@ -0,0 +1,14 @@
+package br.org.soujava.bsb.api.api.v1.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record NinjaBatchResponse(
+    Integer total,
+    List<Integer> ids
+) {
+}
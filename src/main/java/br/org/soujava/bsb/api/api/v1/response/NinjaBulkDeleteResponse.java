@@ -0,0 +1,19 @@
+package br.org.soujava.bsb.api.api.v1.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.List;
+
+/**
+ * Resultado do {@code DELETE /v1/ninjas}: linhas removidas, transações (lotes) executadas e, na
+ * exclusão por ids, os ids que não existiam.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record NinjaBulkDeleteResponse(
+    Integer deleted,
+    Integer chunks,
+    List<Integer> missing
+) {
+}
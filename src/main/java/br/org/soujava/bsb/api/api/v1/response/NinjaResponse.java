@@ -1,5 +1,8 @@
 package br.org.soujava.bsb.api.api.v1.response;
 
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -12,12 +15,13 @@ public record NinjaResponse(
     String nome,
     String vila,
     String cla,
-    String rank,
-    String chakraTipo,
+    Rank rank,
+    ChakraTipo chakraTipo,
     String especialidade,
     String kekkeiGenkai,
-    String status,
+    Status status,
     Integer nivelForca,
-    LocalDate dataRegistro
+    LocalDate dataRegistro,
+    Integer version
 ) {
 }
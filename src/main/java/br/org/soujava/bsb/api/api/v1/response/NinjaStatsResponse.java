@@ -0,0 +1,35 @@
+package br.org.soujava.bsb.api.api.v1.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.Map;
+
+/**
+ * Quantidade de ninjas por valor de cada faceta (valores nulos não entram) e agregados de
+ * {@code nivel_forca} sobre os ninjas que o informam; média e máximo ficam fora do JSON quando
+ * nenhum informa.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record NinjaStatsResponse(
+    long total,
+    Map<String, Long> vila,
+    Map<String, Long> rank,
+    Map<String, Long> status,
+    Map<String, Long> chakraTipo,
+    Double nivelForcaMedia,
+    Integer nivelForcaMaximo
+) {
+
+    /**
+     * Média calculada da soma e da quantidade, com duas casas, para que contadores em memória e
+     * {@code GROUP BY} no banco devolvam exatamente o mesmo valor.
+     */
+    public static NinjaStatsResponse of(long total, Map<String, Long> vila, Map<String, Long> rank, Map<String, Long> status,
+                                        Map<String, Long> chakraTipo, long nivelForcaQuantidade, long nivelForcaSoma,
+                                        Integer nivelForcaMaximo) {
+        final Double media = nivelForcaQuantidade == 0 ? null : Math.round(100.0 * nivelForcaSoma / nivelForcaQuantidade) / 100.0;
+        return new NinjaStatsResponse(total, vila, rank, status, chakraTipo, media, nivelForcaMaximo);
+    }
+}
@@ -0,0 +1,14 @@
+package br.org.soujava.bsb.api.api.v1.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record NinjaSuggestionResponse(
+    Integer id,
+    String nome,
+    Integer nivelForca
+) {
+}
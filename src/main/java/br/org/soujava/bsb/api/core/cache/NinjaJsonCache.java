@@ -0,0 +1,122 @@
+package br.org.soujava.bsb.api.core.cache;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.core.etag.NinjaETag;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * JSON de {@code NinjaResponse} já serializado, guardado em {@link ByteBuffer} direto (fora do heap)
+ * e limitado pelo total de bytes; a política de despejo é a W-TinyLFU do Caffeine.
+ *
+ * <p>Num acerto nada é carregado nem serializado: a entrada (buffer somente leitura + ETag) é
+ * devolvida como está. Entradas são invalidadas após o commit de alterações e exclusões; a época de invalidação evita
+ * que uma leitura iniciada antes do commit grave no cache uma versão já desatualizada.
+ */
+@Component
+public class NinjaJsonCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "ninja.json";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Integer, Entry> cache;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public NinjaJsonCache(ObjectMapper objectMapper, NinjaProperties properties) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.jsonCache().maxSize().toBytes())
+                .weigher((Integer id, Entry entry) -> entry.json().capacity())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * JSON somente leitura (compartilhado entre requisições: escreva a partir de um {@code duplicate()})
+     * e a ETag forte correspondente à versão serializada.
+     */
+    public record Entry(ByteBuffer json, String etag) {
+    }
+
+    @FunctionalInterface
+    public interface Loader<E extends Exception> {
+        NinjaResponse load() throws E;
+    }
+
+    public Entry getIfPresent(Integer id) {
+        return cache.getIfPresent(id);
+    }
+
+    public <E extends Exception> Entry get(Integer id, Loader<E> loader) throws E {
+        final Entry cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long loadedAt = epoch.get();
+        final NinjaResponse response = loader.load();
+        final Entry entry = new Entry(encode(response).asReadOnlyBuffer(), NinjaETag.of(response.id(), response.version()));
+        if (epoch.get() == loadedAt) {
+            cache.put(id, entry);
+            if (epoch.get() != loadedAt) {
+                cache.invalidate(id);
+            }
+        }
+        return entry;
+    }
+
+    public void invalidate(Collection<Integer> ids) {
+        epoch.incrementAndGet();
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNinjaChanged(NinjaChangedEvent event) {
+        switch (event) {
+            case NinjaChangedEvent.Created created -> {
+                // ids novos: nada em cache para esses registros
+            }
+            case NinjaChangedEvent.Updated updated -> invalidate(updated.ids());
+            case NinjaChangedEvent.Deleted deleted -> invalidate(deleted.ids());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME, Tags.empty());
+        Gauge.builder("cache.size.bytes", cache, c -> c.policy().eviction()
+                        .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .description("Bytes de JSON mantidos em memória direta")
+                .register(registry);
+    }
+
+    private ByteBuffer encode(NinjaResponse value) {
+        try {
+            final byte[] bytes = objectMapper.writeValueAsBytes(value);
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ninja to JSON", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.org.soujava.bsb.api.core.cache;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.domain.specification.NinjaSpecifications;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache de resultados de {@code NinjaService.search}, com chave na consulta normalizada
+ * (filtros, página, tamanho e ordenação) e, nas buscas com {@code ?fields=}, nas colunas projetadas.
+ *
+ * <p>Não há rastreio de quais escritas afetam quais consultas: a chave inclui contadores de geração
+ * lidos antes da consulta ao banco. Consultas filtradas por vila dependem da geração de cada vila;
+ * as demais dependem da geração {@code todas}, incrementada a cada escrita. Uma escrita cujas vilas
+ * são desconhecidas incrementa a geração global. Após o incremento as entradas antigas ficam
+ * inalcançáveis e saem por TTL ou por peso.
+ *
+ * <p>Vilas desconhecidas são a regra nas escritas de um comando só, que não leem a linha: PUT com
+ * {@code If-Match}, PATCH e DELETE por id. Cada uma delas descarta o cache inteiro, inclusive consultas
+ * de outras vilas. É uma troca deliberada: saber a vila de origem custaria um
+ * {@code SELECT vila ... FOR UPDATE} a mais em toda escrita (ver {@code NinjaServiceSqlStatementsTest}),
+ * e o cache existe para cargas de leitura. Com escritas frequentes desse tipo a taxa de acerto cai
+ * para perto de zero; acompanhe {@code ninja.search.cache.requests} antes de contar com ele.
+ *
+ * <p>Acertos e faltas são contados por formato de consulta (filtros usados + ordenação) em
+ * {@code ninja.search.cache.requests}, para acompanhar a taxa de acerto de cada painel.
+ */
+@Component
+public class NinjaSearchCache {
+
+    private static final String CACHE_NAME = "ninja.search";
+
+    private final Cache<Key, Page<?>> cache;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong todas = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> porVila = new ConcurrentHashMap<>();
+
+    record Key(NinjaQueryRequest query, Set<String> fields, long offset, int size, Sort sort, List<Long> generations) {
+    }
+
+    public NinjaSearchCache(NinjaProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.searchCache().ttl())
+                .maximumWeight(properties.searchCache().maxWeight())
+                .weigher((Key key, Page<?> page) -> page.getNumberOfElements() + 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME, Tags.empty());
+    }
+
+    public <T> Page<T> get(NinjaQueryRequest queryRequest, Pageable pageable, Supplier<Page<T>> loader) {
+        return get(queryRequest, null, pageable, loader);
+    }
+
+    /**
+     * Mesma chave de {@link #get(NinjaQueryRequest, Pageable, Supplier)} acrescida das colunas projetadas;
+     * {@code fields} nulo identifica a busca com todos os campos.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> get(NinjaQueryRequest queryRequest, Set<String> fields, Pageable pageable, Supplier<Page<T>> loader) {
+        if (pageable.isUnpaged()) {
+            return loader.get();
+        }
+        final var query = NinjaSpecifications.normalize(queryRequest);
+        final var key = new Key(query, fields, pageable.getOffset(), pageable.getPageSize(), pageable.getSort(), generations(query));
+        final var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            counter(shape(query, fields, pageable.getSort()), true).increment();
+            return (Page<T>) cached;
+        }
+
+        // conta a falta só depois da consulta: ordenação inválida falha antes e não cria métrica
+        final var page = loader.get();
+        cache.put(key, page);
+        counter(shape(query, fields, pageable.getSort()), false).increment();
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNinjaChanged(NinjaChangedEvent event) {
+        if (event.vilas().isEmpty()) {
+            global.incrementAndGet();
+            return;
+        }
+        event.vilas().forEach(vila -> porVila.computeIfAbsent(vila, v -> new AtomicLong()).incrementAndGet());
+        todas.incrementAndGet();
+    }
+
+    private List<Long> generations(NinjaQueryRequest query) {
+        if (query.vila() == null) {
+            return List.of(global.get(), todas.get());
+        }
+        final List<Long> generations = new ArrayList<>(query.vila().size() + 1);
+        generations.add(global.get());
+        // vila nunca escrita: geração 0, sem criar entrada no mapa para valores vindos da requisição
+        query.vila().forEach(vila -> {
+            final var generation = porVila.get(vila);
+            generations.add(generation == null ? 0L : generation.get());
+        });
+        return generations;
+    }
+
+    private static String shape(NinjaQueryRequest query, Set<String> fields, Sort sort) {
+        final var filters = new StringJoiner("+");
+        filter(filters, "nome", query.nome());
+        filter(filters, "vila", query.vila());
+        filter(filters, "cla", query.cla());
+        filter(filters, "rank", query.rank());
+        filter(filters, "chakra_tipo", query.chakraTipo());
+        filter(filters, "especialidade", query.especialidade());
+        filter(filters, "kekkei_genkai", query.kekkeiGenkai());
+        filter(filters, "status", query.status());
+        filter(filters, "nivel_forca", query.nivelForca());
+        filter(filters, "nivel_forca_min", query.nivelForcaMin());
+        filter(filters, "nivel_forca_max", query.nivelForcaMax());
+        filter(filters, "data_registro_min", query.dataRegistroMin());
+        filter(filters, "data_registro_max", query.dataRegistroMax());
+        return (filters.length() == 0 ? "none" : filters.toString())
+                + (sort.isSorted() ? ";sort=" + sort : "")
+                + (fields == null ? "" : ";fields");
+    }
+
+    private static void filter(StringJoiner filters, String name, Object value) {
+        if (value != null) {
+            filters.add(name);
+        }
+    }
+
+    private Counter counter(String shape, boolean hit) {
+        return counters.computeIfAbsent(shape + (hit ? "|hit" : "|miss"), k -> Counter.builder("ninja.search.cache.requests")
+                .description("Buscas atendidas pelo cache (hit) ou pelo banco (miss), por formato de consulta")
+                .tag("shape", shape)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry));
+    }
+}
@@ -0,0 +1,82 @@
+package br.org.soujava.bsb.api.core.etag;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.core.projection.NinjaFields;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
+import jakarta.persistence.Tuple;
+import java.util.Objects;
+import org.springframework.data.domain.Page;
+
+/**
+ * ETags das respostas de ninjas. Um ninja tem ETag forte derivada da versão da linha; uma página
+ * de busca tem ETag fraca derivada dos ids e versões do conteúdo e dos dados de paginação. Respostas
+ * com {@code ?fields=} têm sempre ETag fraca, e a de página inclui os campos pedidos.
+ */
+public final class NinjaETag {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private NinjaETag() {
+    }
+
+    public static String of(Integer id, Integer version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * ETag fraca de um ninja devolvido só com parte dos campos: nunca casa com um {@code If-Match}.
+     */
+    public static String weak(Integer id, Integer version) {
+        return "W/" + of(id, version);
+    }
+
+    /**
+     * Versão esperada por um {@code If-Match}: a ETag forte {@code "<id>-<versão>"} do ninja, ou
+     * {@code null} para {@code *}. ETags fracas, de outro ninja ou malformadas nunca casam.
+     */
+    public static Integer expectedVersion(Integer id, String ifMatch) {
+        final String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        final String prefix = "\"" + id + "-";
+        if (value.length() > prefix.length() + 1 && value.startsWith(prefix) && value.endsWith("\"")) {
+            try {
+                return Integer.valueOf(value.substring(prefix.length(), value.length() - 1));
+            } catch (NumberFormatException e) {
+                // cai na falha de pré-condição abaixo
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + value + " does not match ninja " + id);
+    }
+
+    public static String of(Page<NinjaResponse> page) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, page.getNumber());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.getTotalElements());
+        for (NinjaResponse ninja : page) {
+            hash = mix(hash, Objects.hashCode(ninja.id()));
+            hash = mix(hash, Objects.hashCode(ninja.version()));
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public static String of(Page<Tuple> page, NinjaFields fields) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, page.getNumber());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.getTotalElements());
+        hash = mix(hash, fields.attributes().hashCode());
+        for (Tuple ninja : page) {
+            hash = mix(hash, Objects.hashCode(ninja.get("id")));
+            hash = mix(hash, Objects.hashCode(ninja.get("version")));
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
@@ -0,0 +1,66 @@
+package br.org.soujava.bsb.api.core.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+class CsvExportWriter implements NinjaExportWriter {
+
+    static final String HEADER =
+            "id,nome,vila,cla,rank,chakra_tipo,especialidade,kekkei_genkai,status,nivel_forca,data_registro";
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void write(NinjaResponse ninja) {
+        try {
+            writer.write(String.valueOf(ninja.id()));
+            writeField(ninja.nome());
+            writeField(ninja.vila());
+            writeField(ninja.cla());
+            writeField(ninja.rank());
+            writeField(ninja.chakraTipo());
+            writeField(ninja.especialidade());
+            writeField(ninja.kekkeiGenkai());
+            writeField(ninja.status());
+            writeField(ninja.nivelForca());
+            writeField(ninja.dataRegistro());
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeField(Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        final String text = value instanceof CodedEnum coded ? coded.label() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
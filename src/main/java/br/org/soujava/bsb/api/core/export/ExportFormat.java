@@ -0,0 +1,43 @@
+package br.org.soujava.bsb.api.core.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", UTF_8));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Escolhe o formato pelo cabeçalho Accept respeitando a qualidade (q); NDJSON é o padrão.
+     */
+    public static ExportFormat fromAccept(String accept) throws HttpMediaTypeNotAcceptableException {
+        final List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isWildcardType()) {
+                return NDJSON;
+            }
+            for (ExportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(List.of(NDJSON.mediaType, CSV.mediaType));
+    }
+}
@@ -0,0 +1,45 @@
+package br.org.soujava.bsb.api.core.export;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+class NdjsonExportWriter implements NinjaExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean written;
+
+    NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        // O buffer do gerador decide quando descarregar; flush por linha geraria um chunk HTTP por ninja
+        this.writer = objectMapper.writerFor(NinjaResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(NinjaResponse ninja) {
+        try {
+            writer.writeValue(generator, ninja);
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (written) {
+            // terminador da última linha; exportação vazia fica com corpo vazio, não com uma linha em branco
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,23 @@
+package br.org.soujava.bsb.api.core.export;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escreve ninjas um a um no corpo da resposta, sem acumular a coleção em memória.
+ * Falhas de escrita são propagadas como {@link java.io.UncheckedIOException}.
+ */
+public interface NinjaExportWriter extends Closeable {
+
+    void write(NinjaResponse ninja);
+
+    static NinjaExportWriter of(ExportFormat format, ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonExportWriter(objectMapper, outputStream);
+            case CSV -> new CsvExportWriter(outputStream);
+        };
+    }
+}
@@ -4,10 +4,12 @@ package br.org.soujava.bsb.api.core.mapper;
 import static org.mapstruct.NullValueCheckStrategy.ALWAYS;
 import static org.mapstruct.NullValuePropertyMappingStrategy.IGNORE;
 
-import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
 import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
 import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
 import java.util.ArrayList;
 import java.util.List;
 import org.mapstruct.Mapper;
@@ -27,14 +29,25 @@ public interface NinjaMapper {
 
     NinjaMapper MAPPER = Mappers.getMapper(NinjaMapper.class);
 
-    NinjaEntity toEntity(NinjaQueryRequest request);
-
     NinjaEntity toEntity(NinjaRequest request);
 
     NinjaEntity toEntity(NinjaRequest request, @MappingTarget NinjaEntity entity);
 
     NinjaResponse toResponse(NinjaEntity entity);
 
+    /** Rótulos já validados por {@code @CodedValue} na criação e na atualização; {@code null} continua {@code null}. */
+    default Rank toRank(String label) {
+        return Rank.fromLabel(label);
+    }
+
+    default ChakraTipo toChakraTipo(String label) {
+        return ChakraTipo.fromLabel(label);
+    }
+
+    default Status toStatus(String label) {
+        return Status.fromLabel(label);
+    }
+
     default List<NinjaResponse> toListResponse(List<NinjaEntity> entities) {
         final List<NinjaResponse> list = new ArrayList<>();
         entities.forEach(e -> list.add(toResponse(e)));
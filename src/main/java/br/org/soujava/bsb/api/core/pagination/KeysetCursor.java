@@ -0,0 +1,66 @@
+package br.org.soujava.bsb.api.core.pagination;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Posição de leitura da paginação por cursor: valor da chave de ordenação e {@code id} da última
+ * linha entregue. Trafega para o cliente como token opaco (Base64 URL-safe).
+ */
+public record KeysetCursor(String property, Sort.Direction direction, String value, Integer id) {
+
+    private static final String SEPARATOR = "|";
+
+    private static final Map<String, Function<NinjaEntity, Object>> SORTABLE = Map.of(
+            "id", NinjaEntity::getId,
+            "nome", NinjaEntity::getNome,
+            "vila", NinjaEntity::getVila,
+            "rank", NinjaEntity::getRank,
+            "status", NinjaEntity::getStatus,
+            "nivelForca", NinjaEntity::getNivelForca,
+            "dataRegistro", NinjaEntity::getDataRegistro
+    );
+
+    public static Sort.Order requireSortable(Sort.Order order) {
+        if (!SORTABLE.containsKey(order.getProperty())) {
+            throw new BusinessException("Cursor pagination does not support sorting by " + order.getProperty());
+        }
+        return order;
+    }
+
+    public static KeysetCursor after(NinjaEntity last, Sort.Order order) {
+        final Object value = SORTABLE.get(order.getProperty()).apply(last);
+        final String key = switch (value) {
+            case null -> null;
+            case Enum<?> constant -> constant.name();
+            default -> value.toString();
+        };
+        return new KeysetCursor(order.getProperty(), order.getDirection(), key, last.getId());
+    }
+
+    public Sort.Order order() {
+        return new Sort.Order(direction, property);
+    }
+
+    public String encode() {
+        final String raw = property + SEPARATOR + direction + SEPARATOR + id + (value == null ? "" : SEPARATOR + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(token), UTF_8).split("\\|", 4);
+            final var order = requireSortable(new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]));
+            return new KeysetCursor(order.getProperty(), order.getDirection(), parts.length == 4 ? parts[3] : null,
+                    Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Invalid cursor", e);
+        }
+    }
+}
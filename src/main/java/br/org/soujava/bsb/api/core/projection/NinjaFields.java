@@ -0,0 +1,92 @@
+package br.org.soujava.bsb.api.core.projection;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import jakarta.persistence.Tuple;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos em {@code ?fields=nome,vila,rank}, já traduzidos para atributos de {@code NinjaEntity}.
+ * O {@code id} sempre faz parte da resposta; a {@code version} sempre é lida (ETag), mas só aparece
+ * no JSON quando pedida. Os demais campos ficam nulos na {@link NinjaResponse} e, por ela omitir
+ * nulos, fora do corpo.
+ *
+ * @param attributes atributos devolvidos ao cliente, na ordem pedida
+ */
+public record NinjaFields(Set<String> attributes) {
+
+    /** Campo do JSON (snake_case) e o atributo de {@code NinjaEntity} correspondente. */
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", "id");
+        ATTRIBUTES.put("nome", "nome");
+        ATTRIBUTES.put("vila", "vila");
+        ATTRIBUTES.put("cla", "cla");
+        ATTRIBUTES.put("rank", "rank");
+        ATTRIBUTES.put("chakra_tipo", "chakraTipo");
+        ATTRIBUTES.put("especialidade", "especialidade");
+        ATTRIBUTES.put("kekkei_genkai", "kekkeiGenkai");
+        ATTRIBUTES.put("status", "status");
+        ATTRIBUTES.put("nivel_forca", "nivelForca");
+        ATTRIBUTES.put("data_registro", "dataRegistro");
+        ATTRIBUTES.put("version", "version");
+    }
+
+    public static NinjaFields parse(String fields) {
+        final Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("id");
+        for (String field : fields.split(",")) {
+            final String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            final String attribute = ATTRIBUTES.get(name);
+            if (attribute == null) {
+                throw new BusinessException("Unknown field " + name + "; valid fields: " + String.join(",", ATTRIBUTES.keySet()));
+            }
+            attributes.add(attribute);
+        }
+        return new NinjaFields(Collections.unmodifiableSet(attributes));
+    }
+
+    /**
+     * Colunas do SELECT: os atributos pedidos mais a versão.
+     */
+    public Set<String> selection() {
+        final Set<String> selection = new LinkedHashSet<>(attributes);
+        selection.add("version");
+        return selection;
+    }
+
+    /**
+     * Resposta só com os campos pedidos, lidos da tupla pelo alias (nome do atributo).
+     */
+    public NinjaResponse toResponse(Tuple tuple) {
+        return new NinjaResponse(
+                tuple.get("id", Integer.class),
+                value(tuple, "nome", String.class),
+                value(tuple, "vila", String.class),
+                value(tuple, "cla", String.class),
+                value(tuple, "rank", Rank.class),
+                value(tuple, "chakraTipo", ChakraTipo.class),
+                value(tuple, "especialidade", String.class),
+                value(tuple, "kekkeiGenkai", String.class),
+                value(tuple, "status", Status.class),
+                value(tuple, "nivelForca", Integer.class),
+                value(tuple, "dataRegistro", LocalDate.class),
+                value(tuple, "version", Integer.class));
+    }
+
+    private <T> T value(Tuple tuple, String attribute, Class<T> type) {
+        return attributes.contains(attribute) ? tuple.get(attribute, type) : null;
+    }
+}
@@ -0,0 +1,326 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sugestões por prefixo de {@code nome} para {@code GET /v1/ninjas/suggest}, do maior
+ * {@code nivel_forca} para o menor (nulos por último, empate pelo menor id).
+ *
+ * <p>Os nomes ficam numa trie compacta (radix: cada aresta guarda um trecho do nome), sem acento e em
+ * minúsculas, a partir do início do nome e de cada palavra ({@code "Sasuke Uchiha"} é achado por
+ * {@code "sas"} e por {@code "uchi"}). Cada nó guarda as {@link #MAX_LIMIT} melhores sugestões da sua
+ * subárvore, então uma consulta percorre só o prefixo. Uma criação encaixa o ninja nessas listas ao
+ * longo do caminho; uma exclusão descarta só as listas em que ele estava, recalculadas na próxima
+ * consulta a partir dos filhos.
+ *
+ * <p>Construída na subida e mantida pelas escritas do {@code NinjaService} após o commit, com as mesmas
+ * regras do {@link NinjaTextIndex}: valores gravados desconhecidos fazem a próxima consulta reconstruir.
+ */
+@Component
+public class NinjaNameSuggestions {
+
+    /** Maior {@code limit} aceito. */
+    public static final int MAX_LIMIT = 20;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NinjaNameSuggestions.class);
+    private static final Comparator<NinjaSuggestionResponse> RANKING = Comparator
+            .comparing(NinjaSuggestionResponse::nivelForca, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(NinjaSuggestionResponse::id);
+    private static final Node[] NO_CHILDREN = {};
+    private static final NinjaSuggestionResponse[] NO_NINJAS = {};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, NinjaSuggestionResponse> ninjas = new HashMap<>();
+    private Node root = new Node("");
+    private volatile boolean built;
+    private volatile boolean stale;
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        /** Ninjas cuja chave termina neste nó, em ordem. */
+        private NinjaSuggestionResponse[] ninjas = NO_NINJAS;
+        /** Melhores da subárvore, em ordem; {@code null} quando precisa ser recalculada. */
+        private volatile NinjaSuggestionResponse[] top;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == first) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Descarta a trie e insere todos os ninjas entregues por {@code source}.
+     */
+    public void rebuild(Consumer<Consumer<NinjaEntity>> source) {
+        lock.writeLock().lock();
+        try {
+            rebuildLocked(source);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Até {@code limit} ninjas (no máximo {@link #MAX_LIMIT}) com alguma palavra do nome começando por
+     * {@code prefix}. {@code source} entrega todos os ninjas e só é usado se a trie ainda não foi
+     * construída ou está desatualizada.
+     */
+    public List<NinjaSuggestionResponse> suggest(String prefix, int limit, Consumer<Consumer<NinjaEntity>> source) {
+        if (!built || stale) {
+            lock.writeLock().lock();
+            try {
+                if (!built || stale) {
+                    rebuildLocked(source);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        final String key = String.join(" ", NinjaTextIndex.tokens(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            final var node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            final var top = top(node);
+            return List.of(top).subList(0, Math.min(Math.min(limit, MAX_LIMIT), top.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNinjaChanged(NinjaChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built || stale) {
+                // a próxima consulta reconstrói do banco, já com esta escrita
+                return;
+            }
+            switch (event) {
+                case NinjaChangedEvent.Created created -> created.ninjas()
+                        .forEach(ninja -> put(new NinjaSuggestionResponse(ninja.getId(), ninja.getNome(), ninja.getNivelForca())));
+                case NinjaChangedEvent.Updated updated -> {
+                    for (Integer id : updated.ids()) {
+                        final var current = ninjas.get(id);
+                        if (current == null || updated.values() == null) {
+                            stale = true;
+                            return;
+                        }
+                        final var values = updated.values();
+                        final var changed = new NinjaSuggestionResponse(id,
+                                updated.wrote("nome", values.getNome()) ? values.getNome() : current.nome(),
+                                updated.wrote("nivelForca", values.getNivelForca()) ? values.getNivelForca() : current.nivelForca());
+                        if (!changed.equals(current)) {
+                            put(changed);
+                        }
+                    }
+                }
+                case NinjaChangedEvent.Deleted deleted -> deleted.ids().forEach(this::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildLocked(Consumer<Consumer<NinjaEntity>> source) {
+        final long start = System.nanoTime();
+        ninjas.clear();
+        root = new Node("");
+        source.accept(ninja -> put(new NinjaSuggestionResponse(ninja.getId(), ninja.getNome(), ninja.getNivelForca())));
+        // calcula as listas de todos os nós agora, e não na primeira consulta de cada prefixo
+        top(root);
+        built = true;
+        stale = false;
+        LOGGER.info("Name suggestions built with {} ninjas in {} ms", ninjas.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void put(NinjaSuggestionResponse ninja) {
+        remove(ninja.id());
+        ninjas.put(ninja.id(), ninja);
+        keys(ninja.nome()).forEach(key -> insert(key, ninja));
+    }
+
+    private void remove(Integer id) {
+        final var ninja = ninjas.remove(id);
+        if (ninja != null) {
+            keys(ninja.nome()).forEach(key -> delete(key, ninja));
+        }
+    }
+
+    /** Nome inteiro e o trecho a partir de cada palavra seguinte, sem acento e em minúsculas. */
+    private static Set<String> keys(String nome) {
+        final String folded = nome == null ? "" : String.join(" ", NinjaTextIndex.tokens(nome));
+        final Set<String> keys = new LinkedHashSet<>();
+        if (!folded.isEmpty()) {
+            keys.add(folded);
+        }
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keys.add(folded.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private void insert(String key, NinjaSuggestionResponse ninja) {
+        Node node = root;
+        int position = 0;
+        while (true) {
+            node.top = node.children.length == 0 ? null : offer(node.top, ninja);
+            if (position == key.length()) {
+                final int at = -Arrays.binarySearch(node.ninjas, ninja, RANKING) - 1;
+                final var added = new NinjaSuggestionResponse[node.ninjas.length + 1];
+                System.arraycopy(node.ninjas, 0, added, 0, at);
+                added[at] = ninja;
+                System.arraycopy(node.ninjas, at, added, at + 1, node.ninjas.length - at);
+                node.ninjas = added;
+                return;
+            }
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children = append(node.children, child);
+                position = key.length();
+            } else {
+                final int common = common(child.label, key, position);
+                if (common < child.label.length()) {
+                    // divide a aresta: o trecho em comum vira um nó intermediário
+                    final var middle = new Node(child.label.substring(0, common));
+                    middle.children = new Node[]{child};
+                    middle.top = child.top;
+                    child.label = child.label.substring(common);
+                    node.children[Arrays.asList(node.children).indexOf(child)] = middle;
+                    child = middle;
+                }
+                position += common;
+            }
+            node = child;
+        }
+    }
+
+    private void delete(String key, NinjaSuggestionResponse ninja) {
+        Node parent = null;
+        Node node = root;
+        int position = 0;
+        while (true) {
+            if (node.top != null && Arrays.asList(node.top).contains(ninja)) {
+                node.top = null;
+            }
+            if (position == key.length()) {
+                break;
+            }
+            final var child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            parent = node;
+            node = child;
+            position += child.label.length();
+        }
+        node.ninjas = Arrays.stream(node.ninjas).filter(other -> !other.equals(ninja)).toArray(NinjaSuggestionResponse[]::new);
+        if (parent != null && node.ninjas.length == 0 && node.children.length == 0) {
+            final var removed = node;
+            parent.children = Arrays.stream(parent.children).filter(child -> child != removed).toArray(Node[]::new);
+        }
+    }
+
+    /** Nó em que {@code key} termina, no fim ou no meio da aresta; {@code null} se nenhum nome tem o prefixo. */
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            final var child = node.child(key.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            final int common = common(child.label, key, position);
+            if (position + common < key.length() && common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    /**
+     * Lista do nó, recalculada dos ninjas do nó e das listas dos filhos quando foi descartada; uma
+     * folha (a maioria dos nós) usa os próprios ninjas, sem lista guardada. Pode rodar com o read
+     * lock: consultas concorrentes calculam o mesmo resultado.
+     */
+    private static NinjaSuggestionResponse[] top(Node node) {
+        if (node.children.length == 0) {
+            return node.ninjas;
+        }
+        var top = node.top;
+        if (top == null) {
+            final List<NinjaSuggestionResponse> candidates = new ArrayList<>(Arrays.asList(node.ninjas));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(top(child)));
+            }
+            top = candidates.stream().distinct().sorted(RANKING).limit(MAX_LIMIT).toArray(NinjaSuggestionResponse[]::new);
+            node.top = top;
+        }
+        return top;
+    }
+
+    /** {@code top} com {@code ninja} na sua posição, se entrar; {@code null} continua {@code null}. */
+    private static NinjaSuggestionResponse[] offer(NinjaSuggestionResponse[] top, NinjaSuggestionResponse ninja) {
+        if (top == null || Arrays.asList(top).contains(ninja)) {
+            return top;
+        }
+        final int position = -Arrays.binarySearch(top, ninja, RANKING) - 1;
+        if (position >= MAX_LIMIT) {
+            return top;
+        }
+        final var offered = new NinjaSuggestionResponse[Math.min(top.length + 1, MAX_LIMIT)];
+        System.arraycopy(top, 0, offered, 0, position);
+        offered[position] = ninja;
+        System.arraycopy(top, position, offered, position + 1, offered.length - position - 1);
+        return offered;
+    }
+
+    private static int common(String label, String key, int position) {
+        final int max = Math.min(label.length(), key.length() - position);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static <T> T[] append(T[] array, T element) {
+        final var appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = element;
+        return appended;
+    }
+}
@@ -0,0 +1,361 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Índice invertido em memória sobre {@code nome}, {@code especialidade} e {@code kekkeiGenkai}, para
+ * {@code GET /v1/ninjas/search?q=} ordenado por BM25.
+ *
+ * <p>Os textos viram termos de letras e dígitos, sem acento e em minúsculas ({@code "Sharingan/Rinnegan"}
+ * gera {@code sharingan} e {@code rinnegan}). Cada ninja ocupa uma posição (slot) crescente e a lista
+ * de um termo é um {@code int[]} de slots em ordem, com a frequência do termo num {@code byte[]}
+ * paralelo. Alterar um ninja marca o slot antigo como removido e acrescenta um slot novo no fim, então
+ * as listas só crescem por append; quando os removidos passam dos vivos, o índice é refeito a partir
+ * dos textos guardados, sem ir ao banco.
+ *
+ * <p>Construído na subida da aplicação e mantido pelas escritas do {@code NinjaService} após o commit.
+ * Alteração cujos valores gravados são desconhecidos, ou de um ninja fora do índice, marca o índice
+ * como desatualizado e a próxima busca o reconstrói. Escritas feitas direto no banco não são vistas.
+ * Buscas concorrentes compartilham o read lock; escritas e reconstrução usam o write lock.
+ */
+@Component
+public class NinjaTextIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NinjaTextIndex.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_COMPACTION = 1_024;
+
+    /** Pior resultado primeiro: menor score e, no empate, maior id. */
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::id, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private int[] ids = new int[1_024];
+    private int[] lengths = new int[1_024];
+    private final Map<String, String> texts = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long totalLength;
+    private volatile boolean built;
+    private volatile boolean stale;
+
+    /** Ninja encontrado e a sua relevância; maior é melhor. */
+    public record Hit(Integer id, double score) {
+    }
+
+    /** Textos indexados de um slot, guardados para reindexar alterações parciais e compactar. */
+    private record Document(Integer id, String nome, String especialidade, String kekkeiGenkai) {
+    }
+
+    /** Slots em ordem crescente com a frequência do termo em cada um (saturada em 255). */
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+        private int live;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = (byte) Math.min(frequency, 255);
+            size++;
+            live++;
+        }
+
+        int frequency(int position) {
+            return frequencies[position] & 0xFF;
+        }
+    }
+
+    /**
+     * {@code text} sem acentos e em minúsculas ({@code "Hyūga"} vira {@code "hyuga"}).
+     */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termos de {@code text}: sequências de letras e dígitos, sem acento e em minúsculas.
+     */
+    public static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        final String folded = fold(text);
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            final boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Descarta o índice e indexa todos os ninjas entregues por {@code source}.
+     */
+    public void rebuild(Consumer<Consumer<NinjaEntity>> source) {
+        lock.writeLock().lock();
+        try {
+            rebuildLocked(source);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Até {@code limit} ninjas com algum termo de {@code query}, do mais relevante para o menos (empate
+     * pelo menor id). {@code source} entrega todos os ninjas e só é usado se o índice ainda não foi
+     * construído ou está desatualizado.
+     */
+    public List<Hit> search(String query, int limit, Consumer<Consumer<NinjaEntity>> source) {
+        if (!built || stale) {
+            lock.writeLock().lock();
+            try {
+                if (!built || stale) {
+                    rebuildLocked(source);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return topHits(new LinkedHashSet<>(tokens(query)), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNinjaChanged(NinjaChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built || stale) {
+                // a próxima busca reconstrói do banco, já com esta escrita
+                return;
+            }
+            switch (event) {
+                case NinjaChangedEvent.Created created -> created.ninjas()
+                        .forEach(ninja -> add(ninja.getId(), ninja.getNome(), ninja.getEspecialidade(), ninja.getKekkeiGenkai()));
+                case NinjaChangedEvent.Updated updated -> {
+                    for (Integer id : updated.ids()) {
+                        final Integer slot = slots.get(id);
+                        if (slot == null || updated.values() == null) {
+                            stale = true;
+                            return;
+                        }
+                        update(documents.get(slot), updated);
+                    }
+                }
+                case NinjaChangedEvent.Deleted removed -> removed.ids().forEach(this::remove);
+            }
+            if (deletedCount > MIN_COMPACTION && deletedCount > slots.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildLocked(Consumer<Consumer<NinjaEntity>> source) {
+        final long start = System.nanoTime();
+        clear();
+        source.accept(ninja -> add(ninja.getId(), ninja.getNome(), ninja.getEspecialidade(), ninja.getKekkeiGenkai()));
+        built = true;
+        stale = false;
+        LOGGER.info("Text index built with {} ninjas and {} terms in {} ms",
+                slots.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void update(Document current, NinjaChangedEvent.Updated updated) {
+        final var values = updated.values();
+        final String nome = updated.wrote("nome", values.getNome()) ? values.getNome() : current.nome();
+        final String especialidade = updated.wrote("especialidade", values.getEspecialidade())
+                ? values.getEspecialidade() : current.especialidade();
+        final String kekkeiGenkai = updated.wrote("kekkeiGenkai", values.getKekkeiGenkai())
+                ? values.getKekkeiGenkai() : current.kekkeiGenkai();
+        if (!Objects.equals(nome, current.nome()) || !Objects.equals(especialidade, current.especialidade())
+                || !Objects.equals(kekkeiGenkai, current.kekkeiGenkai())) {
+            add(current.id(), nome, especialidade, kekkeiGenkai);
+        }
+    }
+
+    private List<Hit> topHits(Iterable<String> terms, int limit) {
+        final int liveDocuments = slots.size();
+        final List<Postings> found = new ArrayList<>();
+        for (String term : terms) {
+            final var list = postings.get(term);
+            if (list != null && list.live > 0) {
+                found.add(list);
+            }
+        }
+        if (found.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        final var lists = found.toArray(Postings[]::new);
+        final double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = Math.log(1 + (liveDocuments - lists[i].live + 0.5) / (lists[i].live + 0.5));
+        }
+        final double lengthWeight = K1 * B * liveDocuments / totalLength;
+        final PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 1_024) + 1, WORST_FIRST);
+        if (lists.length == 1) {
+            // um termo: sem merge, um laço direto sobre a lista
+            final var list = lists[0];
+            for (int position = 0; position < list.size; position++) {
+                final int slot = list.slots[position];
+                final int frequency = list.frequency(position);
+                final double score = idf[0] * frequency * (K1 + 1) / (frequency + K1 * (1 - B) + lengthWeight * lengths[slot]);
+                offer(top, limit, slot, score);
+            }
+            return sorted(top);
+        }
+        final int[] cursors = new int[lists.length];
+        while (true) {
+            // merge das listas ordenadas: o menor slot ainda não visitado
+            int slot = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < lists[i].size) {
+                    slot = Math.min(slot, lists[i].slots[cursors[i]]);
+                }
+            }
+            if (slot == Integer.MAX_VALUE) {
+                break;
+            }
+            final double norm = K1 * (1 - B) + lengthWeight * lengths[slot];
+            double score = 0;
+            for (int i = 0; i < lists.length; i++) {
+                final var list = lists[i];
+                if (cursors[i] < list.size && list.slots[cursors[i]] == slot) {
+                    final int frequency = list.frequency(cursors[i]);
+                    score += idf[i] * frequency * (K1 + 1) / (frequency + norm);
+                    cursors[i]++;
+                }
+            }
+            offer(top, limit, slot, score);
+        }
+        return sorted(top);
+    }
+
+    /** Guarda o slot se estiver vivo e entrar no top; o {@link Hit} só é criado nesse caso. */
+    private void offer(PriorityQueue<Hit> top, int limit, int slot, double score) {
+        if (top.size() == limit) {
+            final var worst = top.peek();
+            if (score < worst.score() || score == worst.score() && ids[slot] > worst.id() || deleted.get(slot)) {
+                return;
+            }
+            top.poll();
+        } else if (deleted.get(slot)) {
+            return;
+        }
+        top.add(new Hit(ids[slot], score));
+    }
+
+    private static List<Hit> sorted(PriorityQueue<Hit> top) {
+        final List<Hit> hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private void add(Integer id, String nome, String especialidade, String kekkeiGenkai) {
+        remove(id);
+        final Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String text : new String[]{nome, especialidade, kekkeiGenkai}) {
+            for (String token : tokens(text)) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        final int slot = documents.size();
+        // especialidade e kekkei_genkai se repetem muito: uma única String por valor
+        documents.add(new Document(id, nome, intern(especialidade), intern(kekkeiGenkai)));
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+            lengths = Arrays.copyOf(lengths, slot * 2);
+        }
+        ids[slot] = id;
+        lengths[slot] = length;
+        slots.put(id, slot);
+        totalLength += length;
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).add(slot, frequency));
+    }
+
+    private void remove(Integer id) {
+        final Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        final var document = documents.set(slot, null);
+        final var terms = new HashSet<String>();
+        for (String text : new String[]{document.nome(), document.especialidade(), document.kekkeiGenkai()}) {
+            terms.addAll(tokens(text));
+        }
+        terms.forEach(term -> postings.get(term).live--);
+        deleted.set(slot);
+        deletedCount++;
+        totalLength -= lengths[slot];
+    }
+
+    /** Refaz as listas só com os slots vivos, a partir dos textos guardados. */
+    private void compact() {
+        final List<Document> live = new ArrayList<>(slots.size());
+        for (var document : documents) {
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        clear();
+        live.forEach(document -> add(document.id(), document.nome(), document.especialidade(), document.kekkeiGenkai()));
+    }
+
+    private void clear() {
+        postings.clear();
+        slots.clear();
+        documents.clear();
+        texts.clear();
+        deleted.clear();
+        deletedCount = 0;
+        totalLength = 0;
+    }
+
+    private String intern(String text) {
+        return text == null ? null : texts.computeIfAbsent(text, t -> t);
+    }
+}
@@ -0,0 +1,227 @@
+package br.org.soujava.bsb.api.core.stats;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import jakarta.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Facetas e agregados da base inteira, mantidos em memória para {@code GET /v1/ninjas/stats} sem filtros.
+ *
+ * <p>A primeira leitura carrega o id e as colunas de faceta de todos os ninjas (uma consulta); daí
+ * em diante as escritas do {@code NinjaService} são aplicadas após o commit, sem ir ao banco. Cada
+ * ninja fica guardado com os valores atuais das facetas, o que torna os eventos idempotentes: uma
+ * escrita já vista pela carga não é contada duas vezes. Alteração cujos valores gravados são
+ * desconhecidos, ou de um ninja que não está em memória, descarta o estado e a próxima leitura
+ * recarrega. Escritas feitas direto no banco não são vistas.
+ *
+ * <p>Guardar as facetas por ninja custa memória proporcional ao número de linhas da tabela (na ordem
+ * de 100 bytes por ninja: entrada do mapa, id e o registro {@code Facets}; os rótulos são constantes).
+ *
+ * <p>A carga roda fora do lock do estado: escritas que chegam durante ela não esperam a consulta,
+ * ficam pendentes e são reaplicadas sobre o estado carregado antes de ele ser publicado (reaplicar
+ * uma escrita que a carga já viu não muda nada). Só uma carga roda por vez; leituras concorrentes
+ * esperam por ela.
+ */
+@Component
+public class NinjaStatsCounters {
+
+    /** Atributos lidos de cada ninja na carga. */
+    public static final Set<String> ATTRIBUTES = Set.of("id", "vila", "rank", "status", "chakraTipo", "nivelForca");
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock loading = new ReentrantLock();
+    private State state;
+    private List<NinjaChangedEvent> pending;
+
+    /** Facetas de um ninja, com os rótulos de rank, status e chakra_tipo como chaves das contagens. */
+    private record Facets(String vila, String rank, String status, String chakraTipo, Integer nivelForca) {
+
+        static Facets of(NinjaEntity ninja) {
+            return new Facets(ninja.getVila(), CodedEnum.labelOf(ninja.getRank()), CodedEnum.labelOf(ninja.getStatus()),
+                    CodedEnum.labelOf(ninja.getChakraTipo()), ninja.getNivelForca());
+        }
+
+        static Facets of(Tuple row) {
+            return new Facets(row.get("vila", String.class), CodedEnum.labelOf(row.get("rank", Rank.class)),
+                    CodedEnum.labelOf(row.get("status", Status.class)), CodedEnum.labelOf(row.get("chakraTipo", ChakraTipo.class)),
+                    row.get("nivelForca", Integer.class));
+        }
+
+        /** Facetas depois da gravação descrita por {@code updated}. */
+        Facets with(NinjaChangedEvent.Updated updated) {
+            final var values = updated.values();
+            return new Facets(
+                    updated.wrote("vila", values.getVila()) ? values.getVila() : vila,
+                    updated.wrote("rank", values.getRank()) ? CodedEnum.labelOf(values.getRank()) : rank,
+                    updated.wrote("status", values.getStatus()) ? CodedEnum.labelOf(values.getStatus()) : status,
+                    updated.wrote("chakraTipo", values.getChakraTipo()) ? CodedEnum.labelOf(values.getChakraTipo()) : chakraTipo,
+                    updated.wrote("nivelForca", values.getNivelForca()) ? values.getNivelForca() : nivelForca);
+        }
+    }
+
+    /**
+     * Estatísticas atuais; {@code loader} só é chamado quando não há estado em memória e deve
+     * devolver os {@link #ATTRIBUTES} de todos os ninjas.
+     */
+    public NinjaStatsResponse get(Supplier<? extends Collection<Tuple>> loader) {
+        final NinjaStatsResponse current = snapshot();
+        if (current != null) {
+            return current;
+        }
+        loading.lock();
+        try {
+            lock.lock();
+            try {
+                if (state != null) {
+                    return state.snapshot();
+                }
+                pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            return load(loader);
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNinjaChanged(NinjaChangedEvent event) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (state != null && !state.apply(event)) {
+                state = null;
+            }
+            // sem estado, a próxima leitura carrega do banco, já com esta escrita
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private NinjaStatsResponse snapshot() {
+        lock.lock();
+        try {
+            return state == null ? null : state.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private NinjaStatsResponse load(Supplier<? extends Collection<Tuple>> loader) {
+        final var loaded = new State();
+        try {
+            loader.get().forEach(row -> loaded.put(row.get("id", Integer.class), Facets.of(row)));
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        lock.lock();
+        try {
+            // se uma escrita pendente não puder ser aplicada, responde com a carga e a próxima leitura recarrega
+            if (pending.stream().allMatch(loaded::apply)) {
+                state = loaded;
+            }
+            pending = null;
+            return loaded.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Facetas por ninja e contagens derivadas; acessado só com o lock. */
+    private static final class State {
+
+        private final Map<Integer, Facets> ninjas = new HashMap<>();
+        private final Map<String, Long> vila = new HashMap<>();
+        private final Map<String, Long> rank = new HashMap<>();
+        private final Map<String, Long> status = new HashMap<>();
+        private final Map<String, Long> chakraTipo = new HashMap<>();
+        private final NavigableMap<Integer, Long> nivelForca = new TreeMap<>();
+        private long nivelForcaSoma;
+        private NinjaStatsResponse snapshot;
+
+        NinjaStatsResponse snapshot() {
+            if (snapshot == null) {
+                snapshot = NinjaStatsResponse.of(ninjas.size(), new TreeMap<>(vila), new TreeMap<>(rank), new TreeMap<>(status),
+                        new TreeMap<>(chakraTipo), nivelForca.values().stream().mapToLong(Long::longValue).sum(), nivelForcaSoma,
+                        nivelForca.isEmpty() ? null : nivelForca.lastKey());
+            }
+            return snapshot;
+        }
+
+        /** Aplica a escrita; {@code false} quando ela não pode ser aplicada e o estado deve ser descartado. */
+        boolean apply(NinjaChangedEvent event) {
+            snapshot = null;
+            switch (event) {
+                case NinjaChangedEvent.Created created -> created.ninjas().forEach(ninja -> put(ninja.getId(), Facets.of(ninja)));
+                case NinjaChangedEvent.Updated updated -> {
+                    for (Integer id : updated.ids()) {
+                        final var current = ninjas.get(id);
+                        if (current == null || updated.values() == null) {
+                            return false;
+                        }
+                        put(id, current.with(updated));
+                    }
+                }
+                case NinjaChangedEvent.Deleted deleted -> deleted.ids().forEach(this::remove);
+            }
+            return true;
+        }
+
+        void put(Integer id, Facets facets) {
+            remove(id);
+            ninjas.put(id, facets);
+            count(facets, 1);
+        }
+
+        private void remove(Integer id) {
+            final var previous = ninjas.remove(id);
+            if (previous != null) {
+                count(previous, -1);
+            }
+        }
+
+        private void count(Facets facets, long delta) {
+            count(vila, facets.vila(), delta);
+            count(rank, facets.rank(), delta);
+            count(status, facets.status(), delta);
+            count(chakraTipo, facets.chakraTipo(), delta);
+            if (facets.nivelForca() != null) {
+                count(nivelForca, facets.nivelForca(), delta);
+                nivelForcaSoma += delta * facets.nivelForca();
+            }
+        }
+
+        private static <K> void count(Map<K, Long> counts, K key, long delta) {
+            if (key != null) {
+                // contagem zerada sai do mapa: a faceta some do JSON e o máximo acompanha exclusões
+                counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.org.soujava.bsb.api.core.validation;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * O texto deve ser o rótulo de uma constante do enum {@link #value()}; {@code null} é válido.
+ */
+@Documented
+@Constraint(validatedBy = CodedValueValidator.class)
+@Target({FIELD, METHOD, PARAMETER})
+@Retention(RUNTIME)
+public @interface CodedValue {
+
+    Class<? extends CodedEnum> value();
+
+    String message();
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,28 @@
+package br.org.soujava.bsb.api.core.validation;
+
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Consulta os rótulos do enum num {@code Set} montado na inicialização, sem expressão regular.
+ */
+public class CodedValueValidator implements ConstraintValidator<CodedValue, String> {
+
+    private Set<String> labels;
+
+    @Override
+    public void initialize(CodedValue constraint) {
+        labels = Arrays.stream(constraint.value().getEnumConstants())
+                .map(CodedEnum::label)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || labels.contains(value);
+    }
+}
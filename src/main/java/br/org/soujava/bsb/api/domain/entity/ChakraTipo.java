@@ -0,0 +1,44 @@
+package br.org.soujava.bsb.api.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Map;
+
+/**
+ * Afinidade elemental do chakra.
+ */
+public enum ChakraTipo implements CodedEnum {
+
+    FOGO(1, "Fogo"),
+    VENTO(2, "Vento"),
+    RAIO(3, "Raio"),
+    TERRA(4, "Terra"),
+    AGUA(5, "Água"),
+    YIN(6, "Yin"),
+    YANG(7, "Yang");
+
+    private static final Map<String, ChakraTipo> BY_LABEL = CodedEnum.byLabel(values());
+
+    private final int code;
+    private final String label;
+
+    ChakraTipo(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    @Override
+    @JsonValue
+    public String label() {
+        return label;
+    }
+
+    /** Constante do rótulo, ou {@code null} se não existir. */
+    public static ChakraTipo fromLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+}
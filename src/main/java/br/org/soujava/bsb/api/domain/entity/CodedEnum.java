@@ -0,0 +1,29 @@
+package br.org.soujava.bsb.api.domain.entity;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Valor de domínio gravado no banco como um código inteiro pequeno (ver {@code converter}) e
+ * trafegado no JSON pelo rótulo, que não muda com o código.
+ */
+public interface CodedEnum {
+
+    /** Código gravado na coluna; estável, nunca reaproveitado. */
+    int code();
+
+    /** Rótulo exposto na API. */
+    String label();
+
+    /** {@code null} para {@code null}; usado onde facetas e CSV precisam do texto. */
+    static String labelOf(CodedEnum value) {
+        return value == null ? null : value.label();
+    }
+
+    /** Tabela rótulo → constante, montada uma vez por enum. */
+    static <E extends CodedEnum> Map<String, E> byLabel(E[] values) {
+        return Arrays.stream(values).collect(Collectors.toUnmodifiableMap(CodedEnum::label, Function.identity()));
+    }
+}
@@ -1,11 +1,17 @@
 package br.org.soujava.bsb.api.domain.entity;
 
+import br.org.soujava.bsb.api.domain.entity.converter.ChakraTipoConverter;
+import br.org.soujava.bsb.api.domain.entity.converter.RankConverter;
+import br.org.soujava.bsb.api.domain.entity.converter.StatusConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import org.hibernate.annotations.ColumnDefault;
 
@@ -14,7 +20,8 @@ import org.hibernate.annotations.ColumnDefault;
 public class NinjaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ninja_seq")
+    @SequenceGenerator(name = "ninja_seq", sequenceName = "NINJA_SEQ", allocationSize = 50)
     @Column(name = "ID_NINJA", nullable = false)
     private Integer id;
 
@@ -27,11 +34,13 @@ public class NinjaEntity {
     @Column(name = "CLA", length = 50)
     private String cla;
 
-    @Column(name = "RANK", nullable = false, length = 20)
-    private String rank;
+    @Convert(converter = RankConverter.class)
+    @Column(name = "RANK", nullable = false)
+    private Rank rank;
 
-    @Column(name = "CHAKRA_TIPO", nullable = false, length = 30)
-    private String chakraTipo;
+    @Convert(converter = ChakraTipoConverter.class)
+    @Column(name = "CHAKRA_TIPO", nullable = false)
+    private ChakraTipo chakraTipo;
 
     @Column(name = "ESPECIALIDADE", length = 50)
     private String especialidade;
@@ -39,9 +48,10 @@ public class NinjaEntity {
     @Column(name = "KEKKEI_GENKAI", length = 50)
     private String kekkeiGenkai;
 
-    @ColumnDefault("'Ativo'")
-    @Column(name = "STATUS", length = 20)
-    private String status;
+    @ColumnDefault("1")
+    @Convert(converter = StatusConverter.class)
+    @Column(name = "STATUS")
+    private Status status;
 
     @Column(name = "NIVEL_FORCA")
     private Integer nivelForca;
@@ -50,6 +60,10 @@ public class NinjaEntity {
     @Column(name = "DATA_REGISTRO")
     private LocalDate dataRegistro;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
     public Integer getId() {
         return id;
     }
@@ -82,19 +96,19 @@ public class NinjaEntity {
         this.cla = cla;
     }
 
-    public String getRank() {
+    public Rank getRank() {
         return rank;
     }
 
-    public void setRank(String rank) {
+    public void setRank(Rank rank) {
         this.rank = rank;
     }
 
-    public String getChakraTipo() {
+    public ChakraTipo getChakraTipo() {
         return chakraTipo;
     }
 
-    public void setChakraTipo(String chakraTipo) {
+    public void setChakraTipo(ChakraTipo chakraTipo) {
         this.chakraTipo = chakraTipo;
     }
 
@@ -114,11 +128,11 @@ public class NinjaEntity {
         this.kekkeiGenkai = kekkeiGenkai;
     }
 
-    public String getStatus() {
+    public Status getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(Status status) {
         this.status = status;
     }
 
@@ -138,4 +152,11 @@ public class NinjaEntity {
         this.dataRegistro = dataRegistro;
     }
 
-}
\ No newline at end of file
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,47 @@
+package br.org.soujava.bsb.api.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Map;
+
+/**
+ * Graduação do ninja, com códigos em ordem hierárquica ({@code sort=rank} ordena do Genin ao Kage).
+ */
+public enum Rank implements CodedEnum {
+
+    GENIN(1, "Genin"),
+    CHUNIN(2, "Chunin"),
+    JOUNIN(3, "Jounin"),
+    SANNIN(4, "Sannin"),
+    KAGE(5, "Kage"),
+    HOKAGE(6, "Hokage"),
+    KAZEKAGE(7, "Kazekage"),
+    MIZUKAGE(8, "Mizukage"),
+    RAIKAGE(9, "Raikage"),
+    TSUCHIKAGE(10, "Tsuchikage");
+
+    private static final Map<String, Rank> BY_LABEL = CodedEnum.byLabel(values());
+
+    private final int code;
+    private final String label;
+
+    Rank(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    @Override
+    @JsonValue
+    public String label() {
+        return label;
+    }
+
+    /** Constante do rótulo, ou {@code null} se não existir. */
+    public static Rank fromLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+}
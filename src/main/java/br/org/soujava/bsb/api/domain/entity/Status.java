@@ -0,0 +1,37 @@
+package br.org.soujava.bsb.api.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Map;
+
+public enum Status implements CodedEnum {
+
+    ATIVO(1, "Ativo"),
+    DESAPARECIDO(2, "Desaparecido"),
+    RENEGADO(3, "Renegado");
+
+    private static final Map<String, Status> BY_LABEL = CodedEnum.byLabel(values());
+
+    private final int code;
+    private final String label;
+
+    Status(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    @Override
+    @JsonValue
+    public String label() {
+        return label;
+    }
+
+    /** Constante do rótulo, ou {@code null} se não existir. */
+    public static Status fromLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+}
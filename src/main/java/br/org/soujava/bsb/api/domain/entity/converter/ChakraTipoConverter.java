@@ -0,0 +1,12 @@
+package br.org.soujava.bsb.api.domain.entity.converter;
+
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import jakarta.persistence.Converter;
+
+@Converter
+public class ChakraTipoConverter extends CodedEnumConverter<ChakraTipo> {
+
+    public ChakraTipoConverter() {
+        super(ChakraTipo.class);
+    }
+}
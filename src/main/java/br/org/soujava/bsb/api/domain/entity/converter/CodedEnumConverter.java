@@ -0,0 +1,42 @@
+package br.org.soujava.bsb.api.domain.entity.converter;
+
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import jakarta.persistence.AttributeConverter;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Grava um {@link CodedEnum} como o seu código; a leitura é um acesso a um array indexado pelo
+ * código. Código desconhecido na coluna é dado corrompido e falha a leitura.
+ */
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Integer> {
+
+    private final Class<E> type;
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected CodedEnumConverter(Class<E> type) {
+        this.type = type;
+        final E[] values = type.getEnumConstants();
+        this.byCode = (E[]) Array.newInstance(type, Arrays.stream(values).mapToInt(CodedEnum::code).max().orElse(0) + 1);
+        for (E value : values) {
+            byCode[value.code()] = value;
+        }
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.code();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 0 || code >= byCode.length || byCode[code] == null) {
+            throw new IllegalStateException("Unknown " + type.getSimpleName() + " code " + code);
+        }
+        return byCode[code];
+    }
+}
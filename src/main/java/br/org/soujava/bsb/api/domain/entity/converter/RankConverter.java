@@ -0,0 +1,12 @@
+package br.org.soujava.bsb.api.domain.entity.converter;
+
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import jakarta.persistence.Converter;
+
+@Converter
+public class RankConverter extends CodedEnumConverter<Rank> {
+
+    public RankConverter() {
+        super(Rank.class);
+    }
+}
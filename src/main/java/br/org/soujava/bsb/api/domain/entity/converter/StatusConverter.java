@@ -0,0 +1,12 @@
+package br.org.soujava.bsb.api.domain.entity.converter;
+
+import br.org.soujava.bsb.api.domain.entity.Status;
+import jakarta.persistence.Converter;
+
+@Converter
+public class StatusConverter extends CodedEnumConverter<Status> {
+
+    public StatusConverter() {
+        super(Status.class);
+    }
+}
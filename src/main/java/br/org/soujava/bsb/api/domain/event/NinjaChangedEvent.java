@@ -0,0 +1,56 @@
+package br.org.soujava.bsb.api.domain.event;
+
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Alteração na tabela de ninjas, publicada pelo {@code NinjaService} dentro da transação.
+ * Ouvintes que mantêm dados derivados (caches, índices) devem reagir após o commit.
+ */
+public sealed interface NinjaChangedEvent {
+
+    Set<Integer> ids();
+
+    /**
+     * Vilas cujos ninjas foram afetados (antes e depois da alteração). Vazio quando não se sabe
+     * quais vilas foram atingidas: o ouvinte deve considerar todas.
+     */
+    Set<String> vilas();
+
+    record Created(List<NinjaEntity> ninjas) implements NinjaChangedEvent {
+
+        @Override
+        public Set<Integer> ids() {
+            return ninjas.stream().map(NinjaEntity::getId).collect(Collectors.toUnmodifiableSet());
+        }
+
+        @Override
+        public Set<String> vilas() {
+            return ninjas.stream().map(NinjaEntity::getVila).collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    /**
+     * @param values     valores gravados, ou {@code null} quando não são conhecidos
+     * @param attributes atributos de {@code values} gravados (nulos inclusive); {@code null} quando
+     *                   foram gravados apenas os campos não nulos de {@code values}
+     */
+    record Updated(Set<Integer> ids, Set<String> vilas, NinjaEntity values, Set<String> attributes) implements NinjaChangedEvent {
+
+        public Updated(Set<Integer> ids, Set<String> vilas) {
+            this(ids, vilas, null, null);
+        }
+
+        /**
+         * {@code true} se {@code attribute} foi gravado, sendo {@code value} o seu valor em {@link #values()}.
+         */
+        public boolean wrote(String attribute, Object value) {
+            return attributes == null ? value != null : attributes.contains(attribute);
+        }
+    }
+
+    record Deleted(Set<Integer> ids, Set<String> vilas) implements NinjaChangedEvent {
+    }
+}
@@ -0,0 +1,18 @@
+package br.org.soujava.bsb.api.domain.exception;
+
+import br.org.soujava.bsb.api.api.v1.response.ErrorResponse;
+import java.util.List;
+
+public class BatchValidationException extends BusinessException {
+
+    private final transient List<ErrorResponse> errors;
+
+    public BatchValidationException(List<ErrorResponse> errors) {
+        super("Validation failed for " + errors.size() + " field(s) in batch");
+        this.errors = errors;
+    }
+
+    public List<ErrorResponse> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,8 @@
+package br.org.soujava.bsb.api.domain.exception;
+
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
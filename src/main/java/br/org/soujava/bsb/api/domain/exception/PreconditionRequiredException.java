@@ -0,0 +1,8 @@
+package br.org.soujava.bsb.api.domain.exception;
+
+public class PreconditionRequiredException extends BusinessException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,33 @@
 package br.org.soujava.bsb.api.domain.repository;
 
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import java.util.Collection;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface NinjaRepository extends JpaRepository<NinjaEntity, Integer> {
+public interface NinjaRepository extends JpaRepository<NinjaEntity, Integer>, JpaSpecificationExecutor<NinjaEntity>,
+        NinjaRepositoryCustom {
+
+    @Query("select n.version from NinjaEntity n where n.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Integer id);
+
+    /**
+     * {@code DELETE} direto, sem carregar a entidade; devolve o número de linhas removidas.
+     */
+    @Modifying
+    @Query("delete from NinjaEntity n where n.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    /**
+     * {@code DELETE ... WHERE id_ninja IN (...)} num único comando; devolve o número de linhas removidas.
+     */
+    @Modifying
+    @Query("delete from NinjaEntity n where n.id in :ids")
+    int deleteRowsByIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,91 @@
+package br.org.soujava.bsb.api.domain.repository;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import jakarta.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface NinjaRepositoryCustom {
+
+    /**
+     * Percorre os ninjas com cursor do banco ({@code fetchSize} linhas por ida), entregando cada linha
+     * já desanexada do contexto de persistência. Deve ser consumido dentro de uma transação
+     * e fechado ao final.
+     */
+    Stream<NinjaEntity> streamAll(Specification<NinjaEntity> specification, Sort sort, int fetchSize);
+
+    /**
+     * Paginação por chave (seek): devolve até {@code limit} ninjas posicionados depois do
+     * {@code cursor} na ordem {@code order} com desempate por {@code id}, sem OFFSET.
+     * Nulos na chave de ordenação são tratados como o menor valor. Cursor nulo indica a primeira página.
+     */
+    List<NinjaEntity> findAfter(Specification<NinjaEntity> specification, Sort.Order order, KeysetCursor cursor, int limit);
+
+    /**
+     * Página sem {@code COUNT(*)}: busca {@code size + 1} linhas e usa a excedente apenas para
+     * indicar se existe próxima página.
+     */
+    Slice<NinjaEntity> findSlice(Specification<NinjaEntity> specification, Pageable pageable);
+
+    /**
+     * Página de {@link NinjaResponse} montada pelo próprio SELECT (expressão de construtor): as linhas
+     * não viram entidades gerenciadas, não entram no contexto de persistência nem passam pelo mapper.
+     */
+    Page<NinjaResponse> findResponses(Specification<NinjaEntity> specification, Pageable pageable);
+
+    /**
+     * Total e agregados de {@code nivelForca} numa consulta e a contagem de cada faceta (vila, rank,
+     * status e chakraTipo) em um {@code GROUP BY} cada, todos com o filtro da {@code specification}.
+     */
+    NinjaStatsResponse stats(Specification<NinjaEntity> specification);
+
+    /**
+     * Projeção por colunas: o SELECT traz apenas os {@code attributes}, cada um na tupla com o nome do
+     * atributo como alias, sem carregar entidades. O {@code COUNT} segue a regra do Spring Data: só
+     * executa quando a página não basta para deduzir o total.
+     */
+    Page<Tuple> findFields(Specification<NinjaEntity> specification, Pageable pageable, Set<String> attributes);
+
+    /**
+     * Mesma projeção de {@link #findFields} para um único ninja, pela chave primária.
+     */
+    Optional<Tuple> findFieldsById(Integer id, Set<String> attributes);
+
+    /**
+     * Atualização condicional em uma ida ao banco, sem leitura prévia:
+     * {@code UPDATE ... SET <campos não nulos de changes>, version = version + 1 WHERE id_ninja = ? AND version = ?}.
+     * Devolve o número de linhas alteradas; zero indica registro inexistente ou versão diferente da esperada.
+     */
+    int updateIfVersion(Integer id, Integer expectedVersion, NinjaEntity changes);
+
+    /**
+     * UPDATE direcionado: grava em cada atributo de {@code attributes} o valor correspondente de
+     * {@code values} (inclusive nulo) e incrementa a versão; as demais colunas ficam fora do SET.
+     * Com {@code expectedVersion} nulo a versão não entra no WHERE. Devolve o número de linhas alteradas.
+     */
+    int updateColumns(Integer id, Integer expectedVersion, NinjaEntity values, Set<String> attributes);
+
+    /**
+     * Ids dos ninjas do filtro, em ordem, até {@code limit}, lidos com {@code SELECT ... FOR UPDATE}: as
+     * linhas ficam travadas até o fim da transação, então uma escrita seguinte por esses ids atinge
+     * exatamente as linhas selecionadas.
+     */
+    List<Integer> findIdsForUpdate(Specification<NinjaEntity> specification, int limit);
+
+    /**
+     * Mesmo UPDATE de {@link #updateColumns} para vários ninjas num único comando,
+     * {@code ... WHERE id_ninja IN (...)}, sem condição de versão. Devolve o número de linhas alteradas.
+     */
+    int updateColumnsByIds(Collection<Integer> ids, NinjaEntity values, Set<String> attributes);
+}
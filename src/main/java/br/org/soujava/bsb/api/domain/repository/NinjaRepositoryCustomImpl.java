@@ -0,0 +1,387 @@
+package br.org.soujava.bsb.api.domain.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.domain.entity.CodedEnum;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+class NinjaRepositoryCustomImpl implements NinjaRepositoryCustom {
+
+    private static final Map<String, Function<NinjaEntity, Object>> UPDATABLE = new LinkedHashMap<>();
+
+    static {
+        UPDATABLE.put("nome", NinjaEntity::getNome);
+        UPDATABLE.put("vila", NinjaEntity::getVila);
+        UPDATABLE.put("cla", NinjaEntity::getCla);
+        UPDATABLE.put("rank", NinjaEntity::getRank);
+        UPDATABLE.put("chakraTipo", NinjaEntity::getChakraTipo);
+        UPDATABLE.put("especialidade", NinjaEntity::getEspecialidade);
+        UPDATABLE.put("kekkeiGenkai", NinjaEntity::getKekkeiGenkai);
+        UPDATABLE.put("status", NinjaEntity::getStatus);
+        UPDATABLE.put("nivelForca", NinjaEntity::getNivelForca);
+        UPDATABLE.put("dataRegistro", NinjaEntity::getDataRegistro);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<NinjaEntity> streamAll(Specification<NinjaEntity> specification, Sort sort, int fetchSize) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(NinjaEntity.class);
+        final var root = query.from(NinjaEntity.class);
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    @Override
+    public List<NinjaEntity> findAfter(Specification<NinjaEntity> specification, Sort.Order order, KeysetCursor cursor, int limit) {
+        final List<NinjaEntity> ninjas = new ArrayList<>(limit);
+        for (Specification<NinjaEntity> range : seek(order, cursor)) {
+            if (ninjas.size() >= limit) {
+                break;
+            }
+            ninjas.addAll(findOrdered(specification.and(range), order, limit - ninjas.size()));
+        }
+        return ninjas;
+    }
+
+    @Override
+    public Slice<NinjaEntity> findSlice(Specification<NinjaEntity> specification, Pageable pageable) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(NinjaEntity.class);
+        final var root = query.from(NinjaEntity.class);
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        final var typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        final var ninjas = typedQuery
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        final boolean hasNext = ninjas.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ninjas.subList(0, pageable.getPageSize()) : ninjas, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NinjaResponse> findResponses(Specification<NinjaEntity> specification, Pageable pageable) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(NinjaResponse.class);
+        final var root = query.from(NinjaEntity.class);
+        query.select(builder.construct(NinjaResponse.class,
+                root.get("id"), root.get("nome"), root.get("vila"), root.get("cla"), root.get("rank"),
+                root.get("chakraTipo"), root.get("especialidade"), root.get("kekkeiGenkai"), root.get("status"),
+                root.get("nivelForca"), root.get("dataRegistro"), root.get("version")));
+
+        return findPage(query, root, specification, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NinjaStatsResponse stats(Specification<NinjaEntity> specification) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createTupleQuery();
+        final var root = query.from(NinjaEntity.class);
+        final Path<Integer> nivelForca = root.get("nivelForca");
+        query.multiselect(builder.count(root), builder.count(nivelForca), builder.sumAsLong(nivelForca), builder.max(nivelForca));
+        where(query, specification.toPredicate(root, query, builder));
+
+        final var totals = entityManager.createQuery(query).getSingleResult();
+        final Long soma = totals.get(2, Long.class);
+        return NinjaStatsResponse.of(totals.get(0, Long.class),
+                facet(specification, "vila"), facet(specification, "rank"), facet(specification, "status"),
+                facet(specification, "chakraTipo"),
+                totals.get(1, Long.class), soma == null ? 0 : soma, totals.get(3, Integer.class));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Tuple> findFields(Specification<NinjaEntity> specification, Pageable pageable, Set<String> attributes) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createTupleQuery();
+        final var root = query.from(NinjaEntity.class);
+        query.multiselect(selections(root, attributes));
+
+        return findPage(query, root, specification, pageable);
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(Integer id, Set<String> attributes) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createTupleQuery();
+        final var root = query.from(NinjaEntity.class);
+        query.multiselect(selections(root, attributes)).where(builder.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public int updateIfVersion(Integer id, Integer expectedVersion, NinjaEntity changes) {
+        final Set<String> attributes = new LinkedHashSet<>();
+        UPDATABLE.forEach((attribute, getter) -> {
+            if (getter.apply(changes) != null) {
+                attributes.add(attribute);
+            }
+        });
+        return updateColumns(id, expectedVersion, changes, attributes);
+    }
+
+    @Override
+    public int updateColumns(Integer id, Integer expectedVersion, NinjaEntity values, Set<String> attributes) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var update = builder.createCriteriaUpdate(NinjaEntity.class);
+        final var root = update.from(NinjaEntity.class);
+        final Path<Integer> version = set(update, root, values, attributes);
+        update.where(expectedVersion == null
+                ? builder.equal(root.get("id"), id)
+                : builder.and(builder.equal(root.get("id"), id), builder.equal(version, expectedVersion)));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<Integer> findIdsForUpdate(Specification<NinjaEntity> specification, int limit) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(Integer.class);
+        final var root = query.from(NinjaEntity.class);
+        final Path<Integer> id = root.get("id");
+        where(query, specification.toPredicate(root, query, builder));
+        query.select(id).orderBy(builder.asc(id));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int updateColumnsByIds(Collection<Integer> ids, NinjaEntity values, Set<String> attributes) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final var builder = entityManager.getCriteriaBuilder();
+        final var update = builder.createCriteriaUpdate(NinjaEntity.class);
+        final var root = update.from(NinjaEntity.class);
+        set(update, root, values, attributes);
+        update.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /** SET de cada atributo de {@code attributes} com o valor de {@code values} e da versão + 1; devolve a versão. */
+    private Path<Integer> set(CriteriaUpdate<NinjaEntity> update, Root<NinjaEntity> root, NinjaEntity values,
+                              Set<String> attributes) {
+        for (String attribute : attributes) {
+            final var getter = UPDATABLE.get(attribute);
+            if (getter == null) {
+                throw new IllegalArgumentException("Attribute " + attribute + " cannot be updated");
+            }
+            update.set(root.get(attribute), getter.apply(values));
+        }
+        final Path<Integer> version = root.get("version");
+        update.set(version, entityManager.getCriteriaBuilder().sum(version, 1));
+        return version;
+    }
+
+    /**
+     * Aplica filtro, ordenação e paginação a uma consulta cujo SELECT já foi definido; o {@code COUNT}
+     * segue a regra do Spring Data e só executa quando a página não basta para deduzir o total.
+     */
+    private <T> Page<T> findPage(CriteriaQuery<T> query, Root<NinjaEntity> root, Specification<NinjaEntity> specification,
+                                 Pageable pageable) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        final var typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(typedQuery.getResultList());
+        }
+        final var rows = typedQuery
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    private Map<String, Long> facet(Specification<NinjaEntity> specification, String attribute) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createTupleQuery();
+        final var root = query.from(NinjaEntity.class);
+        final Path<Object> value = root.get(attribute);
+        query.multiselect(value, builder.count(root)).groupBy(value);
+        where(query, specification.toPredicate(root, query, builder), builder.isNotNull(value));
+
+        final Map<String, Long> counts = new TreeMap<>();
+        entityManager.createQuery(query).getResultList()
+                .forEach(row -> counts.put(key(row.get(0)), row.get(1, Long.class)));
+        return counts;
+    }
+
+    /** Colunas codificadas são contadas pelo rótulo, como aparecem na API. */
+    private static String key(Object value) {
+        return value instanceof CodedEnum coded ? coded.label() : (String) value;
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate... predicates) {
+        final var present = Arrays.stream(predicates).filter(Objects::nonNull).toArray(Predicate[]::new);
+        if (present.length > 0) {
+            query.where(present);
+        }
+    }
+
+    private long count(Specification<NinjaEntity> specification) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(Long.class);
+        final var root = query.from(NinjaEntity.class);
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(builder.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> selections(Root<NinjaEntity> root, Set<String> attributes) {
+        final List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        attributes.forEach(attribute -> selections.add(root.get(attribute).alias(attribute)));
+        return selections;
+    }
+
+    private List<NinjaEntity> findOrdered(Specification<NinjaEntity> specification, Sort.Order order, int limit) {
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(NinjaEntity.class);
+        final var root = query.from(NinjaEntity.class);
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        final var sortKey = root.get(order.getProperty());
+        final var id = root.get("id");
+        query.select(root).orderBy(order.isAscending()
+                ? List.of(builder.asc(sortKey), builder.asc(id))
+                : List.of(builder.desc(sortKey), builder.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Faixas percorridas em sequência a partir do cursor. Cada faixa é um intervalo simples sobre
+     * {@code (chave, id)} para que o banco posicione o índice direto no ponto de partida; os nulos
+     * (menor valor) ficam numa faixa à parte porque um {@code OR IS NULL} impede o seek.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Specification<NinjaEntity>> seek(Sort.Order order, KeysetCursor cursor) {
+        if (cursor == null) {
+            return List.of((root, query, builder) -> null);
+        }
+        final boolean ascending = order.isAscending();
+        final Specification<NinjaEntity> nullsAfterId = (root, query, builder) -> {
+            final Expression<Integer> id = root.get("id");
+            return builder.and(builder.isNull(root.get(order.getProperty())),
+                    ascending ? builder.greaterThan(id, cursor.id()) : builder.lessThan(id, cursor.id()));
+        };
+        final Specification<NinjaEntity> nulls = (root, query, builder) -> builder.isNull(root.get(order.getProperty()));
+        final Specification<NinjaEntity> notNulls = (root, query, builder) -> builder.isNotNull(root.get(order.getProperty()));
+
+        if (cursor.value() == null) {
+            return ascending ? List.of(nullsAfterId, notNulls) : List.of(nullsAfterId);
+        }
+
+        final Specification<NinjaEntity> afterValue = (root, query, builder) -> {
+            final Path<Comparable> key = root.get(order.getProperty());
+            final Expression<Integer> id = root.get("id");
+            final Comparable value = convert(cursor.value(), key.getJavaType());
+            return ascending
+                    ? builder.and(builder.greaterThanOrEqualTo(key, value),
+                            builder.or(builder.greaterThan(key, value), builder.greaterThan(id, cursor.id())))
+                    : builder.and(builder.lessThanOrEqualTo(key, value),
+                            builder.or(builder.lessThan(key, value), builder.lessThan(id, cursor.id())));
+        };
+        return ascending ? List.of(afterValue) : List.of(afterValue, nulls);
+    }
+
+    /**
+     * Converte o valor do cursor de volta ao tipo do atributo: datas em ISO-8601 e enums pelo
+     * {@link Enum#name()}, no mesmo formato gravado por {@link KeysetCursor#after}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Comparable convert(String value, Class<?> type) {
+        try {
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            return (Comparable) DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (ConversionException | DateTimeParseException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor", e);
+        }
+    }
+}
@@ -5,27 +5,117 @@ import static java.text.MessageFormat.format;
 
 import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
 import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBulkDeleteResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.core.cache.NinjaSearchCache;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.core.search.NinjaNameSuggestions;
+import br.org.soujava.bsb.api.core.search.NinjaTextIndex;
+import br.org.soujava.bsb.api.core.stats.NinjaStatsCounters;
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
 import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
 import br.org.soujava.bsb.api.domain.repository.NinjaRepository;
-import org.springframework.data.domain.Example;
+import br.org.soujava.bsb.api.domain.specification.NinjaSpecifications;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Cada método público gera o timer {@code ninja.service} (tags {@code class}, {@code method} e
+ * {@code exception}), com histograma de percentis configurado no {@code application.yml}.
+ */
 @Service
+@Timed("ninja.service")
 public class NinjaService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NinjaService.class);
+
     private final NinjaRepository respository;
+    private final TransactionTemplate transactionTemplate;
+    private final NinjaProperties properties;
+    private final ApplicationEventPublisher events;
+    private final NinjaSearchCache searchCache;
+    private final NinjaStatsCounters statsCounters;
+    private final NinjaTextIndex textIndex;
+    private final NinjaNameSuggestions nameSuggestions;
 
-    public NinjaService(NinjaRepository respository) {
+    public NinjaService(NinjaRepository respository, TransactionTemplate transactionTemplate, NinjaProperties properties,
+                        ApplicationEventPublisher events, NinjaSearchCache searchCache, NinjaStatsCounters statsCounters,
+                        NinjaTextIndex textIndex, NinjaNameSuggestions nameSuggestions) {
         this.respository = respository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.events = events;
+        this.searchCache = searchCache;
+        this.statsCounters = statsCounters;
+        this.textIndex = textIndex;
+        this.nameSuggestions = nameSuggestions;
+    }
+
+    /**
+     * Constrói o índice textual e a trie de sugestões na subida, para a primeira consulta não pagar a
+     * leitura da tabela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndexes() {
+        textIndex.rebuild(this::indexAll);
+        nameSuggestions.rebuild(this::indexAll);
     }
 
     @Transactional
     public NinjaEntity create(NinjaRequest ninjaRequest) {
-        return respository.save(MAPPER.toEntity(ninjaRequest));
+        final var ninja = respository.save(MAPPER.toEntity(ninjaRequest));
+        events.publishEvent(new NinjaChangedEvent.Created(List.of(ninja)));
+        return ninja;
+    }
+
+    /**
+     * Grava os ninjas em transações de {@code ninja.batch.chunk-size} registros; dentro de cada
+     * transação o Hibernate agrupa os INSERTs em lotes JDBC ({@code hibernate.jdbc.batch_size}).
+     * Lotes já confirmados permanecem gravados se um lote posterior falhar.
+     */
+    public List<Integer> createAll(List<NinjaRequest> requests) {
+        final int chunkSize = properties.batch().chunkSize();
+        final List<Integer> ids = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            final var chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                final var saved = respository.saveAll(chunk.stream().map(MAPPER::toEntity).toList());
+                saved.forEach(ninja -> ids.add(ninja.getId()));
+                events.publishEvent(new NinjaChangedEvent.Created(saved));
+            });
+        }
+        return ids;
     }
 
     @Transactional(readOnly = true)
@@ -34,23 +124,283 @@ public class NinjaService {
                 .orElseThrow(() -> new ResourceNotFoundException(format("Not found regitstry with code {0}", id)));
     }
 
+    /**
+     * Só as colunas de {@code attributes}, sem carregar a entidade.
+     */
     @Transactional(readOnly = true)
-    public Page<NinjaEntity> search(NinjaQueryRequest queryRequest, Pageable pageable) {
+    public Tuple findFields(Integer id, Set<String> attributes) throws ResourceNotFoundException {
+        return respository.findFieldsById(id, attributes)
+                .orElseThrow(() -> new ResourceNotFoundException(format("Not found regitstry with code {0}", id)));
+    }
+
+    @Transactional(readOnly = true)
+    public Integer findVersion(Integer id) throws ResourceNotFoundException {
+        return respository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(format("Not found regitstry with code {0}", id)));
+    }
+
+    /**
+     * Sem transação própria: um acerto no cache não abre transação nem conexão; numa falta, a
+     * consulta e a contagem rodam na transação somente leitura do repositório. As linhas chegam
+     * como {@link NinjaResponse}, sem entidades gerenciadas nem cópia pelo mapper.
+     */
+    public Page<NinjaResponse> search(NinjaQueryRequest queryRequest, Pageable pageable) {
+
+        return searchCache.get(queryRequest, pageable,
+                () -> respository.findResponses(NinjaSpecifications.of(queryRequest), pageable));
+    }
+
+    /**
+     * Busca projetada nas colunas de {@code attributes}; compartilha o cache e as gerações de
+     * {@link #search(NinjaQueryRequest, Pageable)}, com as colunas na chave.
+     */
+    public Page<Tuple> searchFields(NinjaQueryRequest queryRequest, Set<String> attributes, Pageable pageable) {
 
-        final var ninjaEntityExample = Example.of(MAPPER.toEntity(queryRequest));
-        return respository.findAll(ninjaEntityExample, pageable);
+        return searchCache.get(queryRequest, attributes, pageable,
+                () -> respository.findFields(NinjaSpecifications.of(queryRequest), pageable, attributes));
+    }
+
+    /**
+     * Sem filtros, as estatísticas vêm dos contadores em memória: o banco só é lido na primeira
+     * chamada ou depois de uma escrita de valores desconhecidos. Com filtros, de consultas
+     * {@code GROUP BY} na transação somente leitura do repositório.
+     */
+    public NinjaStatsResponse stats(NinjaQueryRequest queryRequest) {
+        final var specification = NinjaSpecifications.of(queryRequest);
+        if (NinjaSpecifications.hasFilters(queryRequest)) {
+            return respository.stats(specification);
+        }
+        return statsCounters.get(() -> respository.findFields(specification, Pageable.unpaged(), NinjaStatsCounters.ATTRIBUTES).getContent());
+    }
+
+    /**
+     * Busca textual ranqueada pelo índice em memória; só os ninjas da página são lidos do banco, numa
+     * consulta por id, e devolvidos na ordem do ranking. Um ninja excluído entre o ranking e a
+     * leitura some da página.
+     */
+    public Slice<NinjaResponse> searchText(String text, Pageable pageable) {
+        if (pageable.getOffset() + pageable.getPageSize() >= Integer.MAX_VALUE) {
+            // além de qualquer ranking que o índice consiga devolver: página vazia em vez de estouro do int
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        final int offset = (int) pageable.getOffset();
+        final var hits = textIndex.search(text, offset + pageable.getPageSize() + 1, this::indexAll);
+        final boolean hasNext = hits.size() > offset + pageable.getPageSize();
+        final List<Integer> ids = hits.stream().skip(offset).limit(pageable.getPageSize()).map(NinjaTextIndex.Hit::id).toList();
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, hasNext);
+        }
+        final Map<Integer, NinjaResponse> ninjas = respository.findResponses((root, query, builder) -> root.get("id").in(ids), Pageable.unpaged())
+                .stream()
+                .collect(Collectors.toMap(NinjaResponse::id, Function.identity()));
+        return new SliceImpl<>(ids.stream().map(ninjas::get).filter(Objects::nonNull).toList(), pageable, hasNext);
+    }
+
+    /**
+     * Sugestões por prefixo do nome, da memória; o banco só é lido se a trie precisar ser reconstruída.
+     */
+    public List<NinjaSuggestionResponse> suggest(String prefix, int limit) {
+
+        return nameSuggestions.suggest(prefix, limit, this::indexAll);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<NinjaEntity> searchSlice(NinjaQueryRequest queryRequest, Pageable pageable) {
+
+        return respository.findSlice(NinjaSpecifications.of(queryRequest), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<NinjaEntity> searchAfter(NinjaQueryRequest queryRequest, Sort.Order order, KeysetCursor cursor, int size) {
+
+        final var ninjas = respository.findAfter(NinjaSpecifications.of(queryRequest), order, cursor, size + 1);
+        final boolean hasNext = ninjas.size() > size;
+        return new SliceImpl<>(hasNext ? ninjas.subList(0, size) : ninjas, PageRequest.of(0, size, Sort.by(order)), hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(NinjaQueryRequest queryRequest, Sort sort, Consumer<NinjaEntity> consumer) {
+
+        try (Stream<NinjaEntity> ninjas = respository.streamAll(NinjaSpecifications.of(queryRequest), sort, properties.export().fetchSize())) {
+            ninjas.forEach(consumer);
+        }
     }
 
     @Transactional
     public NinjaEntity update(Integer id, NinjaRequest request) throws ResourceNotFoundException {
-        final var ninja = MAPPER.toEntity(request, findById(id));
+        final var found = findById(id);
+        final var vilaAnterior = found.getVila();
+        final var ninja = MAPPER.toEntity(request, found);
+        events.publishEvent(new NinjaChangedEvent.Updated(Set.of(id), vilas(vilaAnterior, ninja.getVila()), ninja, null));
         return respository.save(ninja);
     }
 
+    /**
+     * Atualiza somente se a linha ainda estiver na versão {@code expectedVersion}, com um único
+     * UPDATE condicional e sem ler o registro antes; a leitura só acontece quando nenhuma linha é
+     * alterada, para distinguir registro inexistente de versão desatualizada. Devolve a nova versão.
+     * Sem a linha anterior a vila de origem é desconhecida, então o evento não informa vilas.
+     */
+    @Transactional
+    public Integer update(Integer id, Integer expectedVersion, NinjaRequest request) throws ResourceNotFoundException {
+        final var values = MAPPER.toEntity(request);
+        if (respository.updateIfVersion(id, expectedVersion, values) == 0) {
+            throw versionMismatch(id, expectedVersion, findVersion(id));
+        }
+        events.publishEvent(new NinjaChangedEvent.Updated(Set.of(id), Set.of(), values, null));
+        return expectedVersion + 1;
+    }
+
+    /**
+     * Merge patch: um UPDATE só com as colunas de {@code attributes} (valores de {@code values},
+     * nulos inclusive), condicionado à versão quando {@code expectedVersion} é informado. Patch
+     * vazio não grava nada. Devolve a nova versão, ou {@code null} quando ela não é conhecida sem
+     * reler o registro (patch não condicional). A vila anterior não é lida, então o evento não informa
+     * vilas e o cache de busca é descartado por inteiro.
+     */
+    @Transactional
+    public Integer patch(Integer id, Integer expectedVersion, NinjaEntity values, Set<String> attributes)
+            throws ResourceNotFoundException {
+        if (attributes.isEmpty()) {
+            final var current = findVersion(id);
+            if (expectedVersion != null && !expectedVersion.equals(current)) {
+                throw versionMismatch(id, expectedVersion, current);
+            }
+            return current;
+        }
+        if (respository.updateColumns(id, expectedVersion, values, attributes) == 0) {
+            // sem versão esperada, zero linhas só pode ser registro inexistente: findVersion lança 404
+            throw versionMismatch(id, expectedVersion, findVersion(id));
+        }
+        events.publishEvent(new NinjaChangedEvent.Updated(Set.of(id), Set.of(), values, attributes));
+        return expectedVersion == null ? null : expectedVersion + 1;
+    }
+
+    /**
+     * Merge patch de todos os ninjas do filtro numa transação: um SELECT dos ids com {@code FOR UPDATE}
+     * (no máximo {@code ninja.bulk.max-rows} + 1) e um único UPDATE por esses ids, com a versão de
+     * cada linha incrementada. Acima do limite, ou sem nenhum filtro, nada é gravado. Devolve os ids
+     * alterados, em ordem.
+     */
+    @Transactional
+    public List<Integer> patchAll(NinjaQueryRequest queryRequest, NinjaEntity values, Set<String> attributes) {
+        if (!NinjaSpecifications.hasFilters(queryRequest)) {
+            throw new BusinessException("Bulk update requires at least one filter");
+        }
+        if (attributes.isEmpty()) {
+            return List.of();
+        }
+        final int maxRows = properties.bulk().maxRows();
+        final var ids = respository.findIdsForUpdate(NinjaSpecifications.of(queryRequest), maxRows + 1);
+        if (ids.size() > maxRows) {
+            throw new BusinessException(format("Bulk update matches more than {0} ninjas; narrow the filters", maxRows));
+        }
+        if (respository.updateColumnsByIds(ids, values, attributes) > 0) {
+            events.publishEvent(new NinjaChangedEvent.Updated(Set.copyOf(ids), Set.of(), values, attributes));
+        }
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean exists(Integer id) {
+        return respository.existsById(id);
+    }
+
+    /**
+     * Um único {@code DELETE} por id; a contagem de linhas decide o 404. Como a linha não é lida,
+     * a vila é desconhecida e o evento não informa vilas.
+     */
     @Transactional
     public void delete(Integer id) throws ResourceNotFoundException {
-        final var ninjaEntity = findById(id);
-        respository.delete(ninjaEntity);
+        if (respository.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException(format("Not found regitstry with code {0}", id));
+        }
+        events.publishEvent(new NinjaChangedEvent.Deleted(Set.of(id), Set.of()));
+    }
+
+    /**
+     * Remove os {@code ids} em lotes de {@code ninja.bulk.delete-chunk-size}, cada lote na sua transação:
+     * um SELECT dos ids existentes com {@code FOR UPDATE} e um {@code DELETE ... WHERE id_ninja IN (...)}.
+     * Ids inexistentes (ou repetidos) não interrompem a operação e voltam em {@code missing}; um id nulo
+     * recusa a requisição antes do primeiro lote. Lotes já confirmados permanecem removidos se um lote
+     * posterior falhar.
+     */
+    public NinjaBulkDeleteResponse deleteAll(List<Integer> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("Bulk delete ids must not be null");
+        }
+        final List<Integer> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        final int chunkSize = properties.bulk().deleteChunkSize();
+        final int chunks = (distinct.size() + chunkSize - 1) / chunkSize;
+        final List<Integer> missing = new ArrayList<>();
+        int deleted = 0;
+        for (int from = 0, chunk = 1; from < distinct.size(); from += chunkSize, chunk++) {
+            final var requested = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            final var existing = deleteChunk((root, query, builder) -> root.get("id").in(requested), requested.size());
+            final var found = Set.copyOf(existing);
+            requested.stream().filter(id -> !found.contains(id)).forEach(missing::add);
+            deleted += existing.size();
+            LOGGER.info("Bulk delete chunk {}/{}: {} deleted, {} missing", chunk, chunks, existing.size(), requested.size() - existing.size());
+        }
+        return new NinjaBulkDeleteResponse(deleted, chunks, missing);
+    }
+
+    /**
+     * Remove os ninjas do filtro em lotes de {@code ninja.bulk.delete-chunk-size}, cada lote na sua
+     * transação (SELECT dos ids com {@code FOR UPDATE} e DELETE por esses ids), até um lote vir
+     * incompleto ou vazio. Só lotes que removeram algo contam em {@code chunks}. Exige ao menos um filtro.
+     */
+    public NinjaBulkDeleteResponse deleteAll(NinjaQueryRequest queryRequest) {
+        if (!NinjaSpecifications.hasFilters(queryRequest)) {
+            throw new BusinessException("Bulk delete requires ids or at least one filter");
+        }
+        final var specification = NinjaSpecifications.of(queryRequest);
+        final int chunkSize = properties.bulk().deleteChunkSize();
+        int deleted = 0;
+        int chunks = 0;
+        List<Integer> existing;
+        do {
+            existing = deleteChunk(specification, chunkSize);
+            if (existing.isEmpty()) {
+                // total múltiplo do lote (ou filtro sem ninjas): o SELECT vazio só confirma o fim
+                break;
+            }
+            deleted += existing.size();
+            chunks++;
+            LOGGER.info("Bulk delete chunk {}: {} deleted, {} in total", chunks, existing.size(), deleted);
+        } while (existing.size() == chunkSize);
+        return new NinjaBulkDeleteResponse(deleted, chunks, null);
     }
 
+    /** Numa transação, trava e remove até {@code limit} ninjas da {@code specification}; devolve os ids removidos. */
+    private List<Integer> deleteChunk(Specification<NinjaEntity> specification, int limit) {
+        return transactionTemplate.execute(status -> {
+            final var ids = respository.findIdsForUpdate(specification, limit);
+            if (!ids.isEmpty()) {
+                respository.deleteRowsByIds(ids);
+                events.publishEvent(new NinjaChangedEvent.Deleted(Set.copyOf(ids), Set.of()));
+            }
+            return ids;
+        });
+    }
+
+    /** Todos os ninjas, em ordem de id, lidos em streaming numa transação somente leitura. */
+    private void indexAll(Consumer<NinjaEntity> consumer) {
+        final var readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<NinjaEntity> ninjas = respository.streamAll((root, query, builder) -> null, Sort.by("id"), properties.export().fetchSize())) {
+                ninjas.forEach(consumer);
+            }
+        });
+    }
+
+    private static PreconditionFailedException versionMismatch(Integer id, Integer expectedVersion, Integer currentVersion) {
+        return new PreconditionFailedException(
+                format("Ninja {0} is at version {1}, not {2}", id, currentVersion, expectedVersion));
+    }
+
+    private static Set<String> vilas(String... vilas) {
+        return Stream.of(vilas).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
 }
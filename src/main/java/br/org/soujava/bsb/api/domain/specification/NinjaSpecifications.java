@@ -0,0 +1,146 @@
+package br.org.soujava.bsb.api.domain.specification;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+/**
+ * Monta o predicado da busca de ninjas a partir de {@link NinjaQueryRequest}.
+ *
+ * <p>O formato do SQL é normalizado para reaproveitar o cache de planos do Hibernate e o cache de
+ * statements do banco: os predicados saem sempre na mesma ordem de colunas, listas de {@code IN}
+ * são deduplicadas e ordenadas (e preenchidas até a próxima potência de 2 pelo
+ * {@code in_clause_parameter_padding}) e todos os valores vão como parâmetros.
+ */
+public final class NinjaSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final NinjaQueryRequest NO_FILTERS =
+            new NinjaQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+    private NinjaSpecifications() {
+    }
+
+    public static Specification<NinjaEntity> of(NinjaQueryRequest queryRequest) {
+        final var request = normalize(queryRequest);
+        return (root, query, builder) -> {
+            final List<Predicate> predicates = new ArrayList<>();
+            if (request.nome() != null) {
+                prefix(predicates, builder, root, "nome", request.nome());
+            }
+            in(predicates, root, "vila", request.vila());
+            in(predicates, root, "cla", request.cla());
+            coded(predicates, builder, root, "rank", request.rank(), Rank::fromLabel);
+            coded(predicates, builder, root, "chakraTipo", request.chakraTipo(), ChakraTipo::fromLabel);
+            in(predicates, root, "especialidade", request.especialidade());
+            in(predicates, root, "kekkeiGenkai", request.kekkeiGenkai());
+            coded(predicates, builder, root, "status", request.status(), Status::fromLabel);
+            if (request.nivelForca() != null) {
+                predicates.add(builder.equal(root.get("nivelForca"), request.nivelForca()));
+            }
+            between(predicates, builder, root, "nivelForca", request.nivelForcaMin(), request.nivelForcaMax());
+            between(predicates, builder, root, "dataRegistro", request.dataRegistroMin(), request.dataRegistroMax());
+
+            return predicates.isEmpty() ? null : builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Forma canônica da consulta: textos sem espaços nas pontas, listas sem repetição e ordenadas,
+     * filtros vazios como {@code null}. Duas consultas equivalentes resultam em registros iguais.
+     */
+    public static NinjaQueryRequest normalize(NinjaQueryRequest request) {
+        return new NinjaQueryRequest(
+                StringUtils.hasText(request.nome()) ? request.nome().trim() : null,
+                normalize(request.vila()),
+                normalize(request.cla()),
+                normalize(request.rank()),
+                normalize(request.chakraTipo()),
+                normalize(request.especialidade()),
+                normalize(request.kekkeiGenkai()),
+                normalize(request.status()),
+                request.nivelForca(),
+                request.nivelForcaMin(),
+                request.nivelForcaMax(),
+                request.dataRegistroMin(),
+                request.dataRegistroMax());
+    }
+
+    /**
+     * {@code true} quando a consulta normalizada tem ao menos um filtro.
+     */
+    public static boolean hasFilters(NinjaQueryRequest request) {
+        return !normalize(request).equals(NO_FILTERS);
+    }
+
+    private static List<String> normalize(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        final List<String> normalized = values.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .sorted()
+                .toList();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static void in(List<Predicate> predicates, Root<NinjaEntity> root, String attribute, List<String> values) {
+        if (values != null) {
+            predicates.add(root.get(attribute).in(values));
+        }
+    }
+
+    /**
+     * {@code IN} sobre uma coluna codificada: os rótulos viram constantes do enum e o conversor grava os
+     * códigos. Rótulos desconhecidos são descartados; se nenhum for conhecido a busca não encontra nada.
+     */
+    private static <E extends Enum<E>> void coded(List<Predicate> predicates, CriteriaBuilder builder, Root<NinjaEntity> root,
+                                                  String attribute, List<String> labels, Function<String, E> fromLabel) {
+        if (labels != null) {
+            final List<E> values = labels.stream().map(fromLabel).filter(Objects::nonNull).distinct().sorted().toList();
+            predicates.add(values.isEmpty() ? builder.disjunction() : root.get(attribute).in(values));
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void between(List<Predicate> predicates, CriteriaBuilder builder,
+                                                                  Root<NinjaEntity> root, String attribute, T min, T max) {
+        if (min != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get(attribute), min));
+        }
+        if (max != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get(attribute), max));
+        }
+    }
+
+    /**
+     * {@code LIKE ?} parametrizado não permite ao banco usar o índice, então o prefixo também vira a
+     * faixa {@code [prefixo, prefixo com o último caractere incrementado)}; o {@code LIKE} fica como filtro residual.
+     */
+    private static void prefix(List<Predicate> predicates, CriteriaBuilder builder, Root<NinjaEntity> root,
+                               String attribute, String prefix) {
+        final char last = prefix.charAt(prefix.length() - 1);
+        if (last != Character.MAX_VALUE) {
+            final String upper = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+            predicates.add(builder.greaterThanOrEqualTo(root.get(attribute), prefix));
+            predicates.add(builder.lessThan(root.get(attribute), upper));
+        }
+        predicates.add(builder.like(root.get(attribute), escapeLike(prefix) + "%", LIKE_ESCAPE));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
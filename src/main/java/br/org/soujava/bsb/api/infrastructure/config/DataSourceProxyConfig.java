@@ -0,0 +1,36 @@
+package br.org.soujava.bsb.api.infrastructure.config;
+
+import br.org.soujava.bsb.api.infrastructure.jdbc.SqlStatementRecorder;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Envolve o {@link DataSource} (Hikari) num proxy do datasource-proxy que repassa cada comando
+ * executado ao {@link SqlStatementRecorder}. {@code unwrap}/{@code isWrapperFor} continuam chegando
+ * ao pool, então métricas do Hikari e {@code VirtualThreadsConfig} seguem funcionando.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceProxyConfig {
+
+    @Bean
+    static BeanPostProcessor sqlStatementRecorderPostProcessor(ObjectProvider<NinjaProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    final var sql = properties.getObject().sql();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementRecorder(sql.slowQueryThreshold(), sql.repeatedSelectThreshold()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package br.org.soujava.bsb.api.infrastructure.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configurações da API ninja (prefixo {@code ninja} no application.yml).
+ */
+@ConfigurationProperties(prefix = "ninja")
+public record NinjaProperties(@DefaultValue Batch batch,
+                             @DefaultValue Bulk bulk,
+                             @DefaultValue Export export,
+                             @DefaultValue JsonCache jsonCache,
+                             @DefaultValue SearchCache searchCache,
+                             @DefaultValue Sql sql) {
+
+    /**
+     * Carga em lote: registros gravados por transação e máximo de itens aceitos numa requisição.
+     */
+    public record Batch(@DefaultValue("500") int chunkSize, @DefaultValue("10000") int maxItems) {
+    }
+
+    /**
+     * Escrita em massa: máximo de ninjas atingidos por {@code PATCH /v1/ninjas?...} (acima disso nada é
+     * gravado) e ids removidos por transação no {@code DELETE /v1/ninjas}.
+     */
+    public record Bulk(@DefaultValue("1000") int maxRows, @DefaultValue("500") int deleteChunkSize) {
+    }
+
+    /**
+     * Exportação em streaming: linhas buscadas por ida ao banco (JDBC fetch size) e tempo limite da
+     * requisição assíncrona que escreve a resposta.
+     */
+    public record Export(@DefaultValue("500") int fetchSize, @DefaultValue("30m") Duration timeout) {
+    }
+
+    /**
+     * Cache do JSON já serializado de {@code GET /v1/ninjas/{id}}: limite em bytes (memória direta).
+     */
+    public record JsonCache(@DefaultValue("64MB") DataSize maxSize) {
+    }
+
+    /**
+     * Cache de resultados da busca paginada: tempo de vida e peso máximo (total de linhas em cache).
+     */
+    public record SearchCache(@DefaultValue("30s") Duration ttl, @DefaultValue("50000") long maxWeight) {
+    }
+
+    /**
+     * Instrumentação JDBC: duração a partir da qual um comando é logado com parâmetros e plano, e
+     * quantas vezes o mesmo SELECT pode se repetir numa requisição antes do aviso de possível N+1.
+     */
+    public record Sql(@DefaultValue("200ms") Duration slowQueryThreshold, @DefaultValue("10") int repeatedSelectThreshold) {
+    }
+}
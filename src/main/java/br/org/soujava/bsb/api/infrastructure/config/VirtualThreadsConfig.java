@@ -0,0 +1,48 @@
+package br.org.soujava.bsb.api.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo virtual threads ({@code spring.threads.virtual.enabled=true}, perfil {@code virtual-threads}).
+ *
+ * <p>No JDK 21 uma virtual thread que bloqueia dentro de {@code synchronized} prende a carrier thread.
+ * No H2 isso acontece na espera por lock de linha ({@code Transaction.waitForThisToEnd}). Só quem tem
+ * conexão pode esperar por lock, então com menos conexões do que carriers sempre sobra carrier para
+ * quem segura o lock terminar. A verificação abaixo avisa na subida quando o pool não respeita isso.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    ApplicationRunner carrierThreadsCheck(DataSource dataSource) {
+        return args -> {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            final int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            final int carriers = carriers();
+            if (poolSize >= carriers) {
+                LOGGER.warn("JDBC pool has {} connections but only {} carrier threads: virtual threads waiting on H2 row locks "
+                        + "pin their carrier. Start the JVM with -Djdk.virtualThreadScheduler.parallelism={} or lower "
+                        + "spring.datasource.hikari.maximum-pool-size", poolSize, carriers, poolSize + 1);
+            } else {
+                LOGGER.info("Virtual threads enabled: {} carrier threads, {} JDBC connections", carriers, poolSize);
+            }
+        };
+    }
+
+    private static int carriers() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,24 @@
+package br.org.soujava.bsb.api.infrastructure.config;
+
+import br.org.soujava.bsb.api.infrastructure.web.ByteBufferHttpMessageConverter;
+import br.org.soujava.bsb.api.infrastructure.web.SqlStatementsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.addFirst(new ByteBufferHttpMessageConverter());
+    }
+
+    @Bean
+    public SqlStatementsFilter sqlStatementsFilter(MeterRegistry registry) {
+        return new SqlStatementsFilter(registry);
+    }
+}
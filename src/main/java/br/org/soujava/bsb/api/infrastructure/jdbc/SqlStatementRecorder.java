@@ -0,0 +1,162 @@
+package br.org.soujava.bsb.api.infrastructure.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Conta os comandos SQL e o tempo de banco da {@link Scope} aberta na thread atual (uma por
+ * requisição HTTP, ou aberta pelo próprio teste). Lotes JDBC contam como um comando por SQL do lote.
+ *
+ * <p>Comandos acima de {@code slowQueryThreshold} são logados com os parâmetros e, para SELECT e DML,
+ * o {@code EXPLAIN} executado na mesma conexão (dentro da transação corrente e fora da contagem). Um SELECT idêntico
+ * repetido {@code repeatedSelectThreshold} vezes na mesma scope gera um aviso de possível N+1.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatementRecorder.class);
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final long slowQueryMillis;
+    private final int repeatedSelectThreshold;
+
+    public SqlStatementRecorder(Duration slowQueryThreshold, int repeatedSelectThreshold) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    /**
+     * Abre uma contagem na thread atual; ao fechar, a contagem anterior (se houver) volta a valer.
+     */
+    public static Scope start(String name) {
+        final var scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // nada a fazer antes da execução
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        final var scope = CURRENT.get();
+        if (scope != null) {
+            scope.elapsedMillis += execInfo.getElapsedTime();
+            for (QueryInfo query : queryInfoList) {
+                final var type = QueryUtils.getQueryType(query.getQuery());
+                scope.counts.merge(type, 1, Integer::sum);
+                if (type == QueryType.SELECT && !execInfo.isBatch()
+                        && scope.selects.merge(query.getQuery(), 1, Integer::sum) == repeatedSelectThreshold) {
+                    LOGGER.warn("Possible N+1 in '{}': same select executed {} times: {}", scope.name, repeatedSelectThreshold, query.getQuery());
+                }
+            }
+        }
+        if (execInfo.getElapsedTime() >= slowQueryMillis && !execInfo.isBatch() && queryInfoList.size() == 1) {
+            final var query = queryInfoList.getFirst();
+            final var parameters = query.getParametersList().isEmpty() ? List.<ParameterSetOperation>of() : query.getParametersList().getFirst();
+            LOGGER.warn("Slow SQL ({} ms): {} | parameters {} | plan: {}", execInfo.getElapsedTime(), query.getQuery(),
+                    parameters.stream().map(SqlStatementRecorder::value).toList(),
+                    QueryUtils.getQueryType(query.getQuery()) == QueryType.OTHER
+                            ? "n/a" : explain(execInfo.getStatement(), query.getQuery(), parameters));
+        }
+    }
+
+    private static Object value(ParameterSetOperation operation) {
+        return ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1];
+    }
+
+    /**
+     * Reexecuta os mesmos {@code setXxx} do comando original num {@code EXPLAIN}; plano indisponível não
+     * interrompe o comando original.
+     */
+    private static String explain(Statement statement, String sql, List<ParameterSetOperation> parameters) {
+        try (PreparedStatement explain = statement.getConnection().prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation operation : parameters) {
+                operation.getMethod().invoke(explain, operation.getArgs());
+            }
+            final var plan = new StringJoiner(" ");
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1).replaceAll("\\s+", " "));
+                }
+            }
+            return plan.toString();
+        } catch (SQLException | IllegalAccessException | InvocationTargetException e) {
+            return "unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    /**
+     * Comandos executados e tempo de banco desde {@link #start(String)}. Lida e escrita só pela thread
+     * que a abriu.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Scope previous;
+        private final Map<QueryType, Integer> counts = new EnumMap<>(QueryType.class);
+        private final Map<String, Integer> selects = new HashMap<>();
+        private long elapsedMillis;
+
+        private Scope(String name, Scope previous) {
+            this.name = name;
+            this.previous = previous;
+        }
+
+        public int statements() {
+            return counts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public int selects() {
+            return counts.getOrDefault(QueryType.SELECT, 0);
+        }
+
+        public int inserts() {
+            return counts.getOrDefault(QueryType.INSERT, 0);
+        }
+
+        public int updates() {
+            return counts.getOrDefault(QueryType.UPDATE, 0);
+        }
+
+        public int deletes() {
+            return counts.getOrDefault(QueryType.DELETE, 0);
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + counts + " in " + elapsedMillis + " ms";
+        }
+    }
+}
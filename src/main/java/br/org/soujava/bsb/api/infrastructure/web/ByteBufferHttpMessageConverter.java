@@ -0,0 +1,55 @@
+package br.org.soujava.bsb.api.infrastructure.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Escreve um corpo já codificado ({@link ByteBuffer}) direto na saída da resposta. No Tomcat o
+ * buffer é copiado para o buffer do conector sem passar por um {@code byte[]} intermediário.
+ * A posição do buffer recebido não é alterada: ele pode ser compartilhado entre requisições.
+ */
+public class ByteBufferHttpMessageConverter extends AbstractHttpMessageConverter<ByteBuffer> {
+
+    public ByteBufferHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ByteBuffer readInternal(Class<? extends ByteBuffer> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading ByteBuffer bodies is not supported", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ByteBuffer buffer, MediaType contentType) {
+        return (long) buffer.remaining();
+    }
+
+    @Override
+    protected void writeInternal(ByteBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        final ByteBuffer view = buffer.duplicate();
+        final OutputStream body = outputMessage.getBody();
+        if (body instanceof CoyoteOutputStream coyote) {
+            coyote.write(view);
+        } else {
+            Channels.newChannel(body).write(view);
+        }
+    }
+}
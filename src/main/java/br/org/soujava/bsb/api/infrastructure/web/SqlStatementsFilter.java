@@ -0,0 +1,117 @@
+package br.org.soujava.bsb.api.infrastructure.web;
+
+import br.org.soujava.bsb.api.infrastructure.jdbc.SqlStatementRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Abre uma {@link SqlStatementRecorder.Scope} por requisição e publica o resultado:
+ * <ul>
+ *   <li>cabeçalhos {@code X-Sql-Statements} e {@code Server-Timing: db;dur=<ms>}, gravados antes do
+ *   primeiro byte do corpo (comandos executados durante a escrita do corpo, como no export, ficam de fora);</li>
+ *   <li>métricas {@code http.server.requests.sql.statements} e {@code http.server.requests.sql.time}
+ *   por {@code method} e {@code uri}, com a requisição inteira.</li>
+ * </ul>
+ */
+public class SqlStatementsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry registry;
+
+    public SqlStatementsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (var scope = SqlStatementRecorder.start(request.getMethod() + " " + request.getRequestURI())) {
+            final var wrapper = new StatementHeadersResponse(response, scope);
+            chain.doFilter(request, wrapper);
+            wrapper.writeHeaders();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementRecorder.Scope scope) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("Comandos SQL executados por requisição")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(scope.statements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Tempo de banco por requisição")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(Duration.ofMillis(scope.elapsedMillis()));
+    }
+
+    /**
+     * Grava os cabeçalhos uma única vez, no último momento antes do commit da resposta.
+     */
+    private static final class StatementHeadersResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementRecorder.Scope scope;
+        private boolean written;
+
+        StatementHeadersResponse(HttpServletResponse response, SqlStatementRecorder.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(scope.statements()));
+            addHeader(SERVER_TIMING_HEADER, "db;dur=" + scope.elapsedMillis());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -1,6 +1,10 @@
-INSERT INTO NINJA (nome, vila, cla, rank, chakra_tipo, especialidade, kekkei_genkai, status, nivel_forca)
+-- rank, chakra_tipo e status são códigos (ver schema.sql e os enums Rank, ChakraTipo e Status)
+INSERT INTO NINJA (id_ninja, nome, vila, cla, rank, chakra_tipo, especialidade, kekkei_genkai, status, nivel_forca)
 VALUES
-    ('Naruto Uzumaki', 'Konoha', 'Uzumaki', 'Hokage', 'Vento', 'Ninjutsu', 'Kurama (Bijuu)', 'Ativo', 98),
-    ('Sasuke Uchiha', 'Konoha', 'Uchiha', 'Jounin', 'Fogo', 'Ninjutsu/Genjutsu', 'Sharingan/Rinnegan', 'Renegado', 97),
-    ('Sakura Haruno', 'Konoha', NULL, 'Jounin', 'Terra', 'Taijutsu/Medicina', NULL, 'Ativo', 85),
-    ('Gaara', 'Sunagakure', NULL, 'Kazekage', 'Vento', 'Ninjutsu (Areia)', 'Shukaku (Bijuu)', 'Ativo', 95);
+    (1, 'Naruto Uzumaki', 'Konoha', 'Uzumaki', 6, 2, 'Ninjutsu', 'Kurama (Bijuu)', 1, 98),
+    (2, 'Sasuke Uchiha', 'Konoha', 'Uchiha', 3, 1, 'Ninjutsu/Genjutsu', 'Sharingan/Rinnegan', 3, 97),
+    (3, 'Sakura Haruno', 'Konoha', NULL, 3, 4, 'Taijutsu/Medicina', NULL, 1, 85),
+    (4, 'Gaara', 'Sunagakure', NULL, 7, 2, 'Ninjutsu (Areia)', 'Shukaku (Bijuu)', 1, 95);
+
+-- Ids explícitos acima: a sequence continua a partir do próximo livre
+ALTER SEQUENCE NINJA_SEQ RESTART WITH 5;
@@ -1,14 +1,29 @@
+CREATE SEQUENCE IF NOT EXISTS NINJA_SEQ START WITH 1 INCREMENT BY 50;  -- Blocos de 50 ids (pooled-lo)
+
 CREATE TABLE IF NOT EXISTS NINJA (
-    id_ninja       INT AUTO_INCREMENT PRIMARY KEY,  -- Identificador único
+    id_ninja       INT DEFAULT NEXT VALUE FOR NINJA_SEQ PRIMARY KEY,  -- Identificador único
     nome           VARCHAR(100) NOT NULL,           -- Nome do ninja
     vila           VARCHAR(50) NOT NULL,            -- Vila de origem
     cla            VARCHAR(50),                     -- Clã
-    rank           VARCHAR(20) NOT NULL,            -- Genin, Chunin, Jounin, Kage
-    chakra_tipo    VARCHAR(30) NOT NULL,            -- Afinidade elemental
+    rank           TINYINT NOT NULL,                -- Código de Rank: 1 Genin, 2 Chunin, 3 Jounin, 4 Sannin, 5 Kage, 6 Hokage...
+    chakra_tipo    TINYINT NOT NULL,                -- Código de ChakraTipo: 1 Fogo, 2 Vento, 3 Raio, 4 Terra, 5 Água, 6 Yin, 7 Yang
     especialidade  VARCHAR(50),                     -- Ninjutsu, Genjutsu, Taijutsu, Senjutsu
     kekkei_genkai  VARCHAR(50),                     -- Poder de linhagem
-    status         VARCHAR(20) DEFAULT 'Ativo',     -- Ativo, Desaparecido, Renegado
+    status         TINYINT DEFAULT 1,               -- Código de Status: 1 Ativo, 2 Desaparecido, 3 Renegado
     nivel_forca    INT,                             -- 1–100
     data_registro  DATE DEFAULT CURRENT_DATE,       -- Registro
+    version        INT DEFAULT 0 NOT NULL,          -- Versão da linha (lock otimista / ETag)
     CONSTRAINT chk_nivel_forca CHECK (nivel_forca BETWEEN 1 AND 100)
-);
\ No newline at end of file
+);
+
+-- Índices alinhados aos filtros de NinjaQueryRequest e às ordenações usadas na busca
+CREATE INDEX IF NOT EXISTS idx_ninja_vila_rank          ON NINJA (vila, rank);           -- vila, vila + rank
+CREATE INDEX IF NOT EXISTS idx_ninja_status_nivel_forca ON NINJA (status, nivel_forca);  -- status, status + nível
+CREATE INDEX IF NOT EXISTS idx_ninja_nivel_forca        ON NINJA (nivel_forca, id_ninja); -- ordenação padrão e cursor
+CREATE INDEX IF NOT EXISTS idx_ninja_nome               ON NINJA (nome);
+CREATE INDEX IF NOT EXISTS idx_ninja_cla                ON NINJA (cla);
+CREATE INDEX IF NOT EXISTS idx_ninja_rank               ON NINJA (rank);
+CREATE INDEX IF NOT EXISTS idx_ninja_chakra_tipo        ON NINJA (chakra_tipo);
+CREATE INDEX IF NOT EXISTS idx_ninja_especialidade      ON NINJA (especialidade);
+CREATE INDEX IF NOT EXISTS idx_ninja_kekkei_genkai      ON NINJA (kekkei_genkai);
+CREATE INDEX IF NOT EXISTS idx_ninja_data_registro      ON NINJA (data_registro, id_ninja);
@@ -1,43 +1,84 @@
 package br.org.soujava.bsb.api.api.v1.controller;
 
+import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
 import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBulkDeleteResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.core.cache.NinjaJsonCache;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
 import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
 import br.org.soujava.bsb.api.domain.service.NinjaService;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 
-@WebMvcTest(NinjaController.class)
+@WebMvcTest(controllers = NinjaController.class, properties = "ninja.batch.max-items=3")
+@Import({NinjaJsonCache.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(NinjaProperties.class)
 @DisplayName("Ninja Controller")
 class NinjaControllerTest {
 
@@ -50,24 +91,33 @@ class NinjaControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private NinjaJsonCache jsonCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private NinjaEntity ninjaEntity;
     private NinjaRequest ninjaRequest;
 
     @BeforeEach
     void setUp() {
+        jsonCache.invalidateAll();
+
         // Preparar dados de teste reutilizáveis
         ninjaEntity = new NinjaEntity();
         ninjaEntity.setId(1);
         ninjaEntity.setNome("Naruto Uzumaki");
         ninjaEntity.setVila("Konoha");
         ninjaEntity.setCla("Uzumaki");
-        ninjaEntity.setRank("Kage"); // Mudando de "Hokage" para "Kage" (valor válido)
-        ninjaEntity.setChakraTipo("Vento");
+        ninjaEntity.setRank(Rank.KAGE); // Mudando de "Hokage" para "Kage" (valor válido)
+        ninjaEntity.setChakraTipo(ChakraTipo.VENTO);
         ninjaEntity.setEspecialidade("Ninjutsu");
         ninjaEntity.setKekkeiGenkai("Kurama (Bijuu)");
-        ninjaEntity.setStatus("Ativo");
+        ninjaEntity.setStatus(Status.ATIVO);
         ninjaEntity.setNivelForca(98);
         ninjaEntity.setDataRegistro(LocalDate.of(2024, 1, 1));
+        ninjaEntity.setVersion(3);
 
         ninjaRequest = new NinjaRequest(
                 "Naruto Uzumaki",
@@ -122,17 +172,118 @@ class NinjaControllerTest {
                 .andExpect(jsonPath("$.rank", is("Kage")));
     }
 
+    @Test
+    @DisplayName("GET /v1/ninjas/{id} - Deve servir o JSON do cache até o ninja ser alterado")
+    void deveServirJsonDoCacheAteNinjaSerAlterado() throws Exception {
+        // Given: service retornará ninja encontrado
+        when(ninjaService.findById(1)).thenReturn(ninjaEntity);
+
+        // When: duas leituras seguidas
+        mockMvc.perform(get("/v1/ninjas/{id}", 1)).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/ninjas/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, objectMapper.writeValueAsBytes(
+                        MAPPER.toResponse(ninjaEntity)).length))
+                .andExpect(jsonPath("$.nome", is("Naruto Uzumaki")));
+
+        // Then: o service foi consultado uma única vez
+        verify(ninjaService, times(1)).findById(1);
+
+        // When: a alteração é confirmada
+        ninjaEntity.setNome("Naruto Uzumaki (Hokage)");
+        jsonCache.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of("Konoha")));
+
+        // Then: a próxima leitura busca e serializa de novo
+        mockMvc.perform(get("/v1/ninjas/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome", is("Naruto Uzumaki (Hokage)")));
+        verify(ninjaService, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/{id} - Deve retornar ETag forte e 304 quando If-None-Match coincide")
+    void deveRetornar304QuandoETagDoNinjaCoincide() throws Exception {
+        // Given: ninja na versão 3, já lido uma vez (em cache)
+        when(ninjaService.findById(1)).thenReturn(ninjaEntity);
+        mockMvc.perform(get("/v1/ninjas/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+
+        // When/Then: mesma versão -> 304 sem corpo
+        mockMvc.perform(get("/v1/ninjas/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/{id} - Deve responder 304 consultando apenas a versão quando o ninja não está em cache")
+    void deveRetornar304ConsultandoApenasVersao() throws Exception {
+        // Given: somente a versão é consultada
+        when(ninjaService.findVersion(1)).thenReturn(3);
+
+        // When/Then
+        mockMvc.perform(get("/v1/ninjas/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verify(ninjaService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/{id} - Deve retornar o ninja quando a versão do If-None-Match está desatualizada")
+    void deveRetornarNinjaQuandoETagDesatualizada() throws Exception {
+        // Given: cliente tem a versão 2, banco está na 3
+        when(ninjaService.findVersion(1)).thenReturn(3);
+        when(ninjaService.findById(1)).thenReturn(ninjaEntity);
+
+        // When/Then
+        mockMvc.perform(get("/v1/ninjas/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.nome", is("Naruto Uzumaki")));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas - Deve retornar ETag fraca e 304 quando a página não mudou")
+    void deveRetornar304QuandoPaginaNaoMudou() throws Exception {
+        // Given
+        Page<NinjaEntity> page = new PageImpl<>(List.of(ninjaEntity), PageRequest.of(0, 10), 1);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(page));
+        String etag = mockMvc.perform(get("/v1/ninjas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When/Then: mesma página -> 304
+        mockMvc.perform(get("/v1/ninjas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When/Then: nova versão de um ninja da página -> 200 com outra ETag
+        ninjaEntity.setVersion(4);
+        mockMvc.perform(get("/v1/ninjas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(etag)));
+    }
+
     @Test
     @DisplayName("GET /v1/ninjas/{id} - Deve retornar erro 404 para ID inexistente")
     void deveRetornarErro404ParaIdInexistente() throws Exception {
         // Given: service lançará ResourceNotFoundException
         when(ninjaService.findById(999))
                 .thenThrow(new ResourceNotFoundException("Not found registry with code 999"));
+        double antes = errosDaApi("not_found");
 
         // When/Then: fazer requisição com ID inexistente
         mockMvc.perform(get("/v1/ninjas/{id}", 999))
                 .andDo(print())
                 .andExpect(status().isNotFound()); // Status 404
+
+        // Then: o 404 é contado na métrica de erros
+        assertThat(errosDaApi("not_found")).isEqualTo(antes + 1);
     }
 
     @Test
@@ -143,12 +294,12 @@ class NinjaControllerTest {
         sasuke.setId(2);
         sasuke.setNome("Sasuke Uchiha");
         sasuke.setVila("Konoha");
-        sasuke.setRank("Jounin");
+        sasuke.setRank(Rank.JOUNIN);
 
         List<NinjaEntity> ninjas = List.of(ninjaEntity, sasuke);
         Page<NinjaEntity> page = new PageImpl<>(ninjas, PageRequest.of(0, 10), 2);
 
-        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenReturn(page);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(page));
 
         // When/Then: fazer requisição GET com parâmetros de busca
         mockMvc.perform(get("/v1/ninjas")
@@ -171,7 +322,7 @@ class NinjaControllerTest {
     void deveRetornarPaginaVaziaQuandoNaoHaResultados() throws Exception {
         // Given: service retornará página vazia
         Page<NinjaEntity> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenReturn(emptyPage);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(emptyPage));
 
         // When/Then: fazer busca que não retorna resultados
         mockMvc.perform(get("/v1/ninjas")
@@ -185,15 +336,17 @@ class NinjaControllerTest {
     @Test
     @DisplayName("PUT /v1/ninjas/{id} - Deve atualizar ninja com sucesso")
     void deveAtualizarNinjaComSucesso() throws Exception {
-        // Given: ninja atualizado
+        // Given: ninja atualizado da versão 3 para a 4
         NinjaEntity ninjaAtualizado = new NinjaEntity();
         ninjaAtualizado.setId(1);
         ninjaAtualizado.setNome("Naruto Uzumaki - Atualizado");
         ninjaAtualizado.setVila("Konoha");
-        ninjaAtualizado.setRank("Hokage");
+        ninjaAtualizado.setRank(Rank.HOKAGE);
         ninjaAtualizado.setNivelForca(99);
+        ninjaAtualizado.setVersion(4);
 
-        when(ninjaService.update(eq(1), any(NinjaRequest.class))).thenReturn(ninjaAtualizado);
+        when(ninjaService.update(eq(1), eq(3), any(NinjaRequest.class))).thenReturn(4);
+        when(ninjaService.findById(1)).thenReturn(ninjaAtualizado);
 
         NinjaRequest requestAtualizado = new NinjaRequest(
                 "Naruto Uzumaki - Atualizado",
@@ -208,26 +361,126 @@ class NinjaControllerTest {
                 LocalDate.of(2024, 1, 1)
         );
 
-        // When/Then: fazer requisição PUT
+        // When/Then: fazer requisição PUT com a ETag da versão conhecida
         mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestAtualizado)))
                 .andDo(print())
                 .andExpect(status().isOk()) // Status 200
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nome", is("Naruto Uzumaki - Atualizado")))
                 .andExpect(jsonPath("$.nivel_forca", is(99)));
     }
 
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve responder 204 sem reler o ninja com Prefer: return=minimal")
+    void deveResponderSemCorpoComPreferReturnMinimal() throws Exception {
+        // Given
+        when(ninjaService.update(eq(1), eq(3), any(NinjaRequest.class))).thenReturn(4);
+
+        // When/Then
+        mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ninjaRequest)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(content().string(""));
+
+        verify(ninjaService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve exigir If-Match")
+    void deveExigirIfMatchNoPut() throws Exception {
+        // When/Then: sem If-Match
+        mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ninjaRequest)))
+                .andExpect(status().isPreconditionRequired()); // Status 428
+
+        verify(ninjaService, never()).update(any(), any(), any());
+        verify(ninjaService, never()).update(any(), any());
+    }
+
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve retornar erro 400 para rank desconhecido")
+    void deveRetornarErro400ParaRankDesconhecidoNoPut() throws Exception {
+        // Given: rótulo fora do enum, que o mapper transformaria em null e descartaria
+        NinjaRequest rankInvalido = new NinjaRequest(
+                "Naruto Uzumaki", "Konoha", "Uzumaki", "Foo", "Vento", null, null, "Ativo", 98, null);
+
+        // When/Then
+        mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rankInvalido)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field", is("rank")));
+
+        verify(ninjaService, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve retornar 412 quando a versão mudou")
+    void deveRetornar412QuandoVersaoMudou() throws Exception {
+        // Given: outro cliente já gravou a versão 4
+        when(ninjaService.update(eq(1), eq(3), any(NinjaRequest.class)))
+                .thenThrow(new PreconditionFailedException("Ninja 1 is at version 4, not 3"));
+
+        // When/Then
+        mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ninjaRequest)))
+                .andExpect(status().isPreconditionFailed()) // Status 412
+                .andExpect(jsonPath("$.detail", is("Ninja 1 is at version 4, not 3")));
+    }
+
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve retornar 412 para ETag fraca ou de outro ninja")
+    void deveRetornar412ParaIfMatchQueNaoCasa() throws Exception {
+        // When/Then: comparação forte não aceita ETag fraca nem de outro id
+        for (String ifMatch : List.of("W/\"1-3\"", "\"2-3\"", "\"1-x\"")) {
+            mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                            .header(HttpHeaders.IF_MATCH, ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(ninjaRequest)))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        verify(ninjaService, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PUT /v1/ninjas/{id} - Deve ler e mesclar quando If-Match é *")
+    void deveAtualizarComIfMatchCuringa() throws Exception {
+        // Given
+        when(ninjaService.update(eq(1), any(NinjaRequest.class))).thenReturn(ninjaEntity);
+
+        // When/Then
+        mockMvc.perform(put("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ninjaRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+    }
+
     @Test
     @DisplayName("PUT /v1/ninjas/{id} - Deve retornar erro 404 ao atualizar ninja inexistente")
     void deveRetornarErro404AoAtualizarNinjaInexistente() throws Exception {
         // Given: service lançará ResourceNotFoundException
-        when(ninjaService.update(eq(999), any(NinjaRequest.class)))
+        when(ninjaService.update(eq(999), eq(1), any(NinjaRequest.class)))
                 .thenThrow(new ResourceNotFoundException("Not found registry with code 999"));
 
         // When/Then: tentar atualizar ninja inexistente
         mockMvc.perform(put("/v1/ninjas/{id}", 999)
+                        .header(HttpHeaders.IF_MATCH, "\"999-1\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(ninjaRequest)))
                 .andDo(print())
@@ -243,7 +496,10 @@ class NinjaControllerTest {
         // When/Then: fazer requisição DELETE
         mockMvc.perform(delete("/v1/ninjas/{id}", 1))
                 .andDo(print())
-                .andExpect(status().isNoContent()); // Status 204
+                .andExpect(status().isNoContent()) // Status 204
+                // service mockado: nenhum SQL, mas os cabeçalhos vão mesmo sem corpo
+                .andExpect(header().string("X-Sql-Statements", "0"))
+                .andExpect(header().string("Server-Timing", "db;dur=0"));
     }
 
     @Test
@@ -259,6 +515,170 @@ class NinjaControllerTest {
                 .andExpect(status().isNotFound()); // Status 404
     }
 
+    @Test
+    @DisplayName("DELETE /v1/ninjas - Deve excluir pela lista de ids e devolver os inexistentes")
+    void deveExcluirEmMassaPorIds() throws Exception {
+        // Given
+        when(ninjaService.deleteAll(List.of(1, 2, 999))).thenReturn(new NinjaBulkDeleteResponse(2, 1, List.of(999)));
+
+        // When/Then
+        mockMvc.perform(delete("/v1/ninjas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)))
+                .andExpect(jsonPath("$.chunks", is(1)))
+                .andExpect(jsonPath("$.missing", contains(999)));
+    }
+
+    @Test
+    @DisplayName("DELETE /v1/ninjas - Deve excluir pelos filtros e recusar ids junto com filtros")
+    void deveExcluirEmMassaPorFiltro() throws Exception {
+        // Given
+        when(ninjaService.deleteAll(any(NinjaQueryRequest.class))).thenReturn(new NinjaBulkDeleteResponse(3, 1, null));
+
+        // When/Then
+        mockMvc.perform(delete("/v1/ninjas").param("status", "Renegado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(3)))
+                .andExpect(jsonPath("$.missing").doesNotExist());
+        mockMvc.perform(delete("/v1/ninjas")
+                        .param("status", "Renegado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isBadRequest());
+
+        verify(ninjaService, never()).deleteAll(anyList());
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/ninjas/{id} - Deve gravar apenas os campos enviados no merge patch")
+    void deveAplicarMergePatchSomenteNosCamposEnviados() throws Exception {
+        // Given
+        when(ninjaService.patch(eq(1), eq(3), any(NinjaEntity.class), any())).thenReturn(4);
+        when(ninjaService.findById(1)).thenReturn(ninjaEntity);
+
+        // When: status alterado e clã removido
+        mockMvc.perform(patch("/v1/ninjas/{id}", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"Desaparecido\", \"cla\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        // Then: só status e cla vão para o UPDATE
+        ArgumentCaptor<NinjaEntity> valores = ArgumentCaptor.forClass(NinjaEntity.class);
+        verify(ninjaService).patch(eq(1), eq(3), valores.capture(), eq(Set.of("status", "cla")));
+        assertThat(valores.getValue().getStatus()).isEqualTo(Status.DESAPARECIDO);
+        assertThat(valores.getValue().getCla()).isNull();
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/ninjas/{id} - Deve responder 204 sem If-Match e sem reler o ninja")
+    void deveAplicarMergePatchSemIfMatch() throws Exception {
+        // Given: patch não condicional, versão nova desconhecida
+        when(ninjaService.patch(eq(1), eq(null), any(NinjaEntity.class), eq(Set.of("nivelForca")))).thenReturn(null);
+
+        // When/Then
+        mockMvc.perform(patch("/v1/ninjas/{id}", 1)
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nivel_forca\": 90}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(ninjaService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/ninjas/{id} - Deve rejeitar campo desconhecido, nulo em campo obrigatório e valor inválido")
+    void deveRejeitarMergePatchInvalido() throws Exception {
+        // When/Then
+        for (String patch : List.of("{\"id\": 5}", "{\"nome\": null}", "{\"rank\": \"Sensei\"}", "{\"nivel_forca\": \"muito\"}", "[]")) {
+            mockMvc.perform(patch("/v1/ninjas/{id}", 1)
+                            .contentType("application/merge-patch+json")
+                            .content(patch))
+                    .andExpect(status().isBadRequest());
+        }
+
+        // When/Then: erro de campo sai como na validação do corpo de um recurso só, não como erro de lote
+        MvcResult result = mockMvc.perform(patch("/v1/ninjas/{id}", 1)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"rank\": \"Sensei\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field", is("rank")))
+                .andReturn();
+        assertThat(result.getResolvedException()).isInstanceOf(MethodArgumentNotValidException.class);
+
+        verify(ninjaService, never()).patch(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/ninjas?filtros - Deve aplicar o merge patch aos ninjas do filtro e devolver os ids")
+    void deveAplicarMergePatchPorFiltro() throws Exception {
+        // Given
+        when(ninjaService.patchAll(any(NinjaQueryRequest.class), any(NinjaEntity.class), eq(Set.of("status"))))
+                .thenReturn(List.of(1, 3));
+
+        // When
+        mockMvc.perform(patch("/v1/ninjas")
+                        .param("vila", "Konoha")
+                        .param("status", "Ativo")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"Desaparecido\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.ids", contains(1, 3)));
+
+        // Then: filtros da busca e só o status no UPDATE
+        ArgumentCaptor<NinjaQueryRequest> consulta = ArgumentCaptor.forClass(NinjaQueryRequest.class);
+        ArgumentCaptor<NinjaEntity> valores = ArgumentCaptor.forClass(NinjaEntity.class);
+        verify(ninjaService).patchAll(consulta.capture(), valores.capture(), eq(Set.of("status")));
+        assertThat(consulta.getValue().vila()).containsExactly("Konoha");
+        assertThat(consulta.getValue().status()).containsExactly("Ativo");
+        assertThat(valores.getValue().getStatus()).isEqualTo(Status.DESAPARECIDO);
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/ninjas?filtros - Deve rejeitar patch inválido e responder 400 acima do limite de linhas")
+    void deveRejeitarMergePatchPorFiltroInvalidoOuAcimaDoLimite() throws Exception {
+        // Given
+        when(ninjaService.patchAll(any(NinjaQueryRequest.class), any(NinjaEntity.class), eq(Set.of("nivelForca"))))
+                .thenThrow(new BusinessException("Bulk update matches more than 1000 ninjas; narrow the filters"));
+
+        // When/Then
+        mockMvc.perform(patch("/v1/ninjas")
+                        .param("vila", "Konoha")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"rank\": \"Sensei\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/v1/ninjas")
+                        .param("vila", "Konoha")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"nivel_forca\": 50}"))
+                .andExpect(status().isBadRequest());
+
+        verify(ninjaService, times(1)).patchAll(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("HEAD /v1/ninjas/{id} - Deve responder pela consulta de existência sem carregar o ninja")
+    void deveResponderHeadPelaExistencia() throws Exception {
+        // Given
+        when(ninjaService.exists(1)).thenReturn(true);
+        when(ninjaService.exists(999)).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(head("/v1/ninjas/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+        mockMvc.perform(head("/v1/ninjas/{id}", 999))
+                .andExpect(status().isNotFound());
+
+        verify(ninjaService, never()).findById(any());
+        verify(ninjaService, never()).findVersion(any());
+    }
+
     @Test
     @DisplayName("Deve testar validação de Content-Type")
     void deveTestarValidacaoContentType() throws Exception {
@@ -345,7 +765,7 @@ class NinjaControllerTest {
     void deveTestarDiferentesParametrosPaginacao() throws Exception {
         // Given
         Page<NinjaEntity> page = new PageImpl<>(List.of(ninjaEntity), PageRequest.of(2, 5), 11);
-        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenReturn(page);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(page));
 
         // When/Then: testar com diferentes parâmetros de paginação
         mockMvc.perform(get("/v1/ninjas")
@@ -365,7 +785,7 @@ class NinjaControllerTest {
     void deveTestarTodosFiltrosDeBuscaDisponiveis() throws Exception {
         // Given
         Page<NinjaEntity> page = new PageImpl<>(List.of(ninjaEntity), PageRequest.of(0, 10), 1);
-        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenReturn(page);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(page));
 
         // When/Then: testar com todos os filtros possíveis
         mockMvc.perform(get("/v1/ninjas")
@@ -383,6 +803,36 @@ class NinjaControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("GET /v1/ninjas - Deve converter filtros em lista, faixas e datas")
+    void deveConverterFiltrosEmListaFaixasEDatas() throws Exception {
+        // Given
+        Page<NinjaEntity> page = new PageImpl<>(List.of(ninjaEntity), PageRequest.of(0, 10), 1);
+        when(ninjaService.search(any(NinjaQueryRequest.class), any(Pageable.class))).thenAnswer(invocation -> MAPPER.toPageResponse(page));
+
+        // When: vila separada por vírgula e rank repetido
+        mockMvc.perform(get("/v1/ninjas")
+                        .param("vila", "Konoha,Sunagakure")
+                        .param("rank", "Jounin", "Kage")
+                        .param("nivel_forca_min", "80")
+                        .param("nivel_forca_max", "99")
+                        .param("data_registro_min", "2024-01-01")
+                        .param("data_registro_max", "2024-12-31"))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        // Then: o service recebe os valores já convertidos
+        ArgumentCaptor<NinjaQueryRequest> captor = ArgumentCaptor.forClass(NinjaQueryRequest.class);
+        verify(ninjaService).search(captor.capture(), any(Pageable.class));
+        NinjaQueryRequest consulta = captor.getValue();
+        assertThat(consulta.vila()).containsExactly("Konoha", "Sunagakure");
+        assertThat(consulta.rank()).containsExactly("Jounin", "Kage");
+        assertThat(consulta.nivelForcaMin()).isEqualTo(80);
+        assertThat(consulta.nivelForcaMax()).isEqualTo(99);
+        assertThat(consulta.dataRegistroMin()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(consulta.dataRegistroMax()).isEqualTo(LocalDate.of(2024, 12, 31));
+    }
+
     @Test
     @DisplayName("POST /v1/ninjas - Deve criar ninja com dados válidos completos")
     void deveCrearNinjaComDadosValidosCompletos() throws Exception {
@@ -405,11 +855,11 @@ class NinjaControllerTest {
         sasuke.setNome("Sasuke Uchiha");
         sasuke.setVila("Konoha");
         sasuke.setCla("Uchiha");
-        sasuke.setRank("Jounin");
-        sasuke.setChakraTipo("Fogo");
+        sasuke.setRank(Rank.JOUNIN);
+        sasuke.setChakraTipo(ChakraTipo.FOGO);
         sasuke.setEspecialidade("Ninjutsu");
         sasuke.setKekkeiGenkai("Sharingan");
-        sasuke.setStatus("Ativo");
+        sasuke.setStatus(Status.ATIVO);
         sasuke.setNivelForca(95);
         sasuke.setDataRegistro(LocalDate.of(2024, 1, 1));
 
@@ -426,4 +876,313 @@ class NinjaControllerTest {
                 .andExpect(jsonPath("$.nome", is("Sasuke Uchiha")))
                 .andExpect(jsonPath("$.rank", is("Jounin")));
     }
+
+    @Test
+    @DisplayName("POST /v1/ninjas/batch - Deve criar ninjas em lote com sucesso")
+    void deveCriarNinjasEmLoteComSucesso() throws Exception {
+        // Given: service retornará os ids gerados para o lote
+        when(ninjaService.createAll(anyList())).thenReturn(List.of(5, 6));
+
+        // When/Then: enviar array com dois ninjas válidos
+        mockMvc.perform(post("/v1/ninjas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(ninjaRequest, ninjaRequest))))
+                .andDo(print())
+                .andExpect(status().isCreated()) // Status 201
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.ids", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("POST /v1/ninjas/batch - Deve retornar erro 400 indicando o item inválido do lote")
+    void deveRetornarErro400IndicandoItemInvalidoDoLote() throws Exception {
+        // Given: segundo item sem nome (falha @NotBlank do grupo Create)
+        NinjaRequest semNome = new NinjaRequest(
+                null, "Konoha", null, "Genin", "Fogo", null, null, "Ativo", 10, null);
+        double antes = errosDaApi("validation");
+
+        // When/Then: o lote inteiro é rejeitado e o erro aponta o índice do item
+        mockMvc.perform(post("/v1/ninjas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(ninjaRequest, semNome))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/problem+json"))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].field", is("[1].nome")));
+
+        verify(ninjaService, never()).createAll(anyList());
+        assertThat(errosDaApi("validation")).isEqualTo(antes + 1);
+    }
+
+    @Test
+    @DisplayName("POST /v1/ninjas/batch - Deve apontar item nulo do lote e recusar lote acima do limite")
+    void deveApontarItemNuloERecusarLoteAcimaDoLimite() throws Exception {
+        // When/Then: item nulo vira erro do índice, não 500
+        mockMvc.perform(post("/v1/ninjas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + objectMapper.writeValueAsString(ninjaRequest) + ", null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].field", is("[1]")));
+
+        // When/Then: 4 itens com ninja.batch.max-items=3
+        mockMvc.perform(post("/v1/ninjas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(ninjaRequest, ninjaRequest, ninjaRequest, ninjaRequest))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", is("Batch has 4 items; the limit is 3")));
+
+        verify(ninjaService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/export - Deve exportar ninjas em NDJSON por padrão")
+    void deveExportarNinjasEmNdjson() throws Exception {
+        // Given: service entrega dois ninjas ao consumidor do stream
+        doAnswer(invocation -> {
+            Consumer<NinjaEntity> consumer = invocation.getArgument(2);
+            consumer.accept(ninjaEntity);
+            consumer.accept(ninjaEntity);
+            return null;
+        }).when(ninjaService).export(any(NinjaQueryRequest.class), any(Sort.class), any());
+
+        // When: a resposta é escrita de forma assíncrona, com o tempo limite da exportação
+        MvcResult result = mockMvc.perform(get("/v1/ninjas/export").param("vila", "Konoha"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        // Then: uma linha JSON por ninja
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("{\"id\":1,\"nome\":\"Naruto Uzumaki\"")))
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern("(?s)\\{[^\n]+}\n\\{[^\n]+}\n")));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/export - Deve responder corpo vazio em NDJSON quando nenhum ninja casa")
+    void deveExportarNdjsonVazioSemLinhaEmBranco() throws Exception {
+        // Given: service não entrega nenhum ninja
+        MvcResult result = mockMvc.perform(get("/v1/ninjas/export").param("vila", "Amegakure"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then: nem o terminador de linha
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/export - Deve exportar ninjas em CSV quando solicitado pelo Accept")
+    void deveExportarNinjasEmCsv() throws Exception {
+        // Given: service entrega um ninja ao consumidor do stream
+        doAnswer(invocation -> {
+            invocation.<Consumer<NinjaEntity>>getArgument(2).accept(ninjaEntity);
+            return null;
+        }).when(ninjaService).export(any(NinjaQueryRequest.class), any(Sort.class), any());
+
+        MvcResult result = mockMvc.perform(get("/v1/ninjas/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then: cabeçalho + uma linha, com aspas em campos que contêm caracteres especiais
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(
+                        "id,nome,vila,cla,rank,chakra_tipo,especialidade,kekkei_genkai,status,nivel_forca,data_registro\r\n"
+                                + "1,Naruto Uzumaki,Konoha,Uzumaki,Kage,Vento,Ninjutsu,Kurama (Bijuu),Ativo,98,2024-01-01\r\n"));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/export - Deve retornar erro 406 para formato não suportado")
+    void deveRetornarErro406ParaFormatoDeExportacaoNaoSuportado() throws Exception {
+        mockMvc.perform(get("/v1/ninjas/export").accept(MediaType.APPLICATION_XML))
+                .andDo(print())
+                .andExpect(status().isNotAcceptable()); // Status 406
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas?with_total=false - Deve retornar página sem totais e com has_next")
+    void deveRetornarPaginaSemTotais() throws Exception {
+        // Given: service devolve um Slice (sem contagem)
+        when(ninjaService.searchSlice(any(NinjaQueryRequest.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(ninjaEntity), PageRequest.of(2, 1), true));
+
+        // When & Then: has_next no lugar de total_elements/total_pages
+        mockMvc.perform(get("/v1/ninjas").param("with_total", "false").param("page", "2").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.number", is(2)))
+                .andExpect(jsonPath("$.page.has_next", is(true)))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.page.total_elements").doesNotExist());
+
+        verify(ninjaService, never()).search(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas?cursor - Deve retornar página por cursor com next_cursor e sem total")
+    void deveRetornarPaginaPorCursor() throws Exception {
+        // Given: service indica que há próxima página
+        when(ninjaService.searchAfter(any(NinjaQueryRequest.class), eq(Sort.Order.desc("nivelForca")), eq(null), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(ninjaEntity), PageRequest.of(0, 1), true));
+
+        // When & Then: primeira página (cursor vazio) traz o cursor da próxima
+        mockMvc.perform(get("/v1/ninjas").param("cursor", "").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.size", is(1)))
+                .andExpect(jsonPath("$.page.has_next", is(true)))
+                .andExpect(jsonPath("$.page.total_elements").doesNotExist())
+                .andExpect(jsonPath("$.next_cursor").isString());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas?cursor - Deve retornar erro 400 para cursor inválido")
+    void deveRetornarErro400ParaCursorInvalido() throws Exception {
+        mockMvc.perform(get("/v1/ninjas").param("cursor", "@@invalido@@"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", is("Invalid cursor")));
+
+        verify(ninjaService, never()).searchAfter(any(), any(), any(), org.mockito.ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas?fields - Deve devolver apenas os campos pedidos, com id")
+    void deveBuscarSomenteCamposPedidos() throws Exception {
+        // Given: tupla só com as colunas projetadas
+        Tuple tupla = tupla(Map.of("id", 1, "nome", "Naruto Uzumaki", "rank", Rank.KAGE, "version", 3));
+        Page<Tuple> page = new PageImpl<>(List.of(tupla), PageRequest.of(0, 10), 1);
+        when(ninjaService.searchFields(any(NinjaQueryRequest.class), eq(Set.of("id", "nome", "rank", "version")), any(Pageable.class)))
+                .thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/v1/ninjas").param("vila", "Konoha").param("fields", "nome, rank"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.startsWith("W/\"")))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].nome", is("Naruto Uzumaki")))
+                .andExpect(jsonPath("$.content[0].rank", is("Kage")))
+                .andExpect(jsonPath("$.content[0].vila").doesNotExist())
+                .andExpect(jsonPath("$.content[0].version").doesNotExist())
+                .andExpect(jsonPath("$.page.totalElements", is(1)));
+
+        verify(ninjaService, never()).search(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/{id}?fields - Deve ler só as colunas pedidas com ETag fraca")
+    void deveBuscarPorIdSomenteCamposPedidos() throws Exception {
+        // Given
+        Tuple tupla = tupla(Map.of("id", 1, "nivelForca", 98, "version", 3));
+        when(ninjaService.findFields(1, Set.of("id", "nivelForca", "version"))).thenReturn(tupla);
+
+        // When & Then
+        mockMvc.perform(get("/v1/ninjas/{id}", 1).param("fields", "nivel_forca"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.nivel_forca", is(98)))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+        mockMvc.perform(get("/v1/ninjas/{id}", 1).param("fields", "nivel_forca").header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(ninjaService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas?fields - Deve retornar erro 400 para campo desconhecido")
+    void deveRetornarErro400ParaCampoDesconhecido() throws Exception {
+        mockMvc.perform(get("/v1/ninjas").param("fields", "nome,senha"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", org.hamcrest.Matchers.startsWith("Unknown field senha")));
+
+        verify(ninjaService, never()).searchFields(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/search - Deve retornar a busca textual na ordem de relevância")
+    void deveRetornarBuscaTextual() throws Exception {
+        // Given
+        when(ninjaService.searchText(eq("sharingan"), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(MAPPER.toResponse(ninjaEntity)), PageRequest.of(0, 1), true));
+
+        // When & Then
+        mockMvc.perform(get("/v1/ninjas/search").param("q", "sharingan").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.page.has_next", is(true)));
+
+        // Sem q a requisição é inválida
+        mockMvc.perform(get("/v1/ninjas/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/suggest - Deve retornar sugestões por prefixo e validar o limite")
+    void deveRetornarSugestoes() throws Exception {
+        // Given
+        when(ninjaService.suggest("Nar", 5)).thenReturn(List.of(new NinjaSuggestionResponse(1, "Naruto Uzumaki", 99)));
+
+        // When & Then
+        mockMvc.perform(get("/v1/ninjas/suggest").param("prefix", "Nar").param("limit", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nome", is("Naruto Uzumaki")))
+                .andExpect(jsonPath("$[0].nivel_forca", is(99)));
+
+        mockMvc.perform(get("/v1/ninjas/suggest").param("prefix", "Nar").param("limit", "21"))
+                .andExpect(status().isBadRequest());
+        verify(ninjaService, times(1)).suggest(any(), eq(5));
+    }
+
+    @Test
+    @DisplayName("GET /v1/ninjas/stats - Deve retornar facetas e agregados com os filtros da busca")
+    void deveRetornarEstatisticas() throws Exception {
+        // Given
+        when(ninjaService.stats(any(NinjaQueryRequest.class))).thenReturn(NinjaStatsResponse.of(3,
+                Map.of("Konoha", 3L), Map.of("Jounin", 2L, "Hokage", 1L), Map.of("Ativo", 2L, "Renegado", 1L),
+                Map.of("Vento", 1L, "Fogo", 1L, "Terra", 1L), 3, 280, 98));
+
+        // When & Then
+        mockMvc.perform(get("/v1/ninjas/stats").param("vila", "Konoha"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.rank.Jounin", is(2)))
+                .andExpect(jsonPath("$.chakra_tipo.Terra", is(1)))
+                .andExpect(jsonPath("$.nivel_forca_media", is(93.33)))
+                .andExpect(jsonPath("$.nivel_forca_maximo", is(98)));
+
+        ArgumentCaptor<NinjaQueryRequest> captor = ArgumentCaptor.forClass(NinjaQueryRequest.class);
+        verify(ninjaService).stats(captor.capture());
+        assertThat(captor.getValue().vila()).containsExactly("Konoha");
+    }
+
+    private static Tuple tupla(Map<String, Object> valores) {
+        Tuple tupla = org.mockito.Mockito.mock(Tuple.class);
+        when(tupla.get(any(String.class))).thenAnswer(invocation -> valores.get(invocation.<String>getArgument(0)));
+        when(tupla.get(any(String.class), any())).thenAnswer(invocation -> valores.get(invocation.<String>getArgument(0)));
+        return tupla;
+    }
+
+    private double errosDaApi(String motivo) {
+        return meterRegistry.get("ninja.api.errors").tag("reason", motivo).counter().count();
+    }
 }
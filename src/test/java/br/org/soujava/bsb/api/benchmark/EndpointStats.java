@@ -0,0 +1,59 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências de um endpoint em um {@link Histogram} (microssegundos, 3 dígitos significativos) e
+ * respostas com erro. Não é thread-safe: cada cliente grava na sua instância e o resultado é
+ * consolidado com {@link #add(EndpointStats)} ao final da medição.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private long errors;
+
+    void record(long nanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void add(EndpointStats other) {
+        histogram.add(other.histogram);
+        errors += other.errors;
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    /** Resumo para o relatório JSON: contagens, vazão e percentis em milissegundos. */
+    Map<String, Object> summary(Duration duration) {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count());
+        summary.put("errors", errors);
+        summary.put("throughput_rps", Math.round(count() / (duration.toMillis() / 1000.0)));
+        summary.put("p50_ms", percentileMillis(50));
+        summary.put("p90_ms", percentileMillis(90));
+        summary.put("p99_ms", percentileMillis(99));
+        summary.put("p99_9_ms", percentileMillis(99.9));
+        summary.put("max_ms", histogram.getMaxValue() / 1_000.0);
+        return summary;
+    }
+}
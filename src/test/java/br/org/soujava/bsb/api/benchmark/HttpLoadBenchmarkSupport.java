@@ -0,0 +1,127 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Carga HTTP com N conexões simultâneas (uma virtual thread por conexão no cliente) contra a
+ * aplicação iniciada pelo teste, medindo vazão e latência p50/p99 (HdrHistogram) de busca e getById. As subclasses
+ * só mudam o modo de threads do servidor, então os números de cada modo são comparáveis.
+ *
+ * <p>Os caches de busca e de JSON ficam desligados e cada requisição sorteia id, vila e página: toda
+ * requisição vai ao banco, que é onde o modo de threads do servidor faz diferença (bloqueio em I/O).
+ *
+ * <p>Parâmetros (system properties): {@code benchmark.connections} (padrão {@code 100,1000,10000}),
+ * {@code benchmark.warmup} e {@code benchmark.duration} (ISO-8601, padrão {@code PT5S} e {@code PT15S}).
+ * Cliente e servidor dividem a mesma JVM e CPU: compare modos na mesma máquina, não números absolutos.
+ */
+// Tomcat aceita as 10k conexões sem recusar no backlog nem fechar keep-alive no meio da medição;
+// sem o log por requisição do controller, que dominaria o tempo medido; sem caches, para medir a ida ao banco
+@TestPropertySource(properties = {
+    "server.tomcat.max-connections=20000",
+    "server.tomcat.accept-count=10000",
+    "server.tomcat.keep-alive-timeout=60s",
+    "server.tomcat.max-keep-alive-requests=-1",
+    "logging.level.br.org.soujava.bsb.api.api=WARN",
+    "ninja.search-cache.max-weight=0",
+    "ninja.json-cache.max-size=0B"
+})
+abstract class HttpLoadBenchmarkSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpLoadBenchmarkSupport.class);
+
+    private static final int[] CONNECTIONS = Arrays.stream(System.getProperty("benchmark.connections", "100,1000,10000").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT15S"));
+
+    private static final List<String> VILAS = List.of("Konoha", "Sunagakure");
+
+    @LocalServerPort
+    private int port;
+
+    abstract String mode();
+
+    @Test
+    void search() throws Exception {
+        run("search", random -> "/v1/ninjas?vila=" + VILAS.get(random.nextInt(VILAS.size()))
+                + "&page=" + random.nextInt(2) + "&size=" + (1 + random.nextInt(2)));
+    }
+
+    @Test
+    void getById() throws Exception {
+        // ids 1 a 4 do data.sql
+        run("getById", random -> "/v1/ninjas/" + (1 + random.nextInt(4)));
+    }
+
+    private void run(String endpoint, Function<ThreadLocalRandom, String> path) throws Exception {
+        final Supplier<HttpRequest> requests = () -> HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + path.apply(ThreadLocalRandom.current())))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        for (int connections : CONNECTIONS) {
+            try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                load(client, requests, connections, WARMUP);
+                final var result = load(client, requests, connections, DURATION);
+                LOGGER.info("{} | {} | connections={} | {} req/s | p50 {} ms | p99 {} ms | errors {}",
+                        String.format("%-8s", mode()), String.format("%-7s", endpoint), connections,
+                        Math.round(result.count() / (DURATION.toMillis() / 1000.0)),
+                        String.format("%.2f", result.percentileMillis(50)), String.format("%.2f", result.percentileMillis(99)), result.errors());
+                assertThat(result.count()).as("requisições com sucesso").isPositive();
+            }
+        }
+    }
+
+    private static EndpointStats load(HttpClient client, Supplier<HttpRequest> requests, int connections, Duration duration) throws Exception {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final List<Future<EndpointStats>> futures = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                futures.add(executor.submit(() -> {
+                    final var stats = new EndpointStats();
+                    while (System.nanoTime() < deadline) {
+                        final long start = System.nanoTime();
+                        try {
+                            final var response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                stats.error();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            stats.error();
+                            continue;
+                        }
+                        stats.record(System.nanoTime() - start);
+                    }
+                    return stats;
+                }));
+            }
+        }
+        final var all = new EndpointStats();
+        for (Future<EndpointStats> future : futures) {
+            all.add(future.get());
+        }
+        return all;
+    }
+}
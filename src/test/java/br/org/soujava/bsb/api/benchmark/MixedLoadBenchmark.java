@@ -0,0 +1,227 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Carga mista contra a aplicação iniciada pelo teste: {@code benchmark.clients} clientes (uma
+ * virtual thread cada, em laço fechado) sorteiam a operação de cada requisição conforme o
+ * {@code benchmark.mix}, sobre uma base semeada com {@code benchmark.seed} ninjas. Latência por
+ * endpoint em HdrHistogram; o relatório (p50/p90/p99/p99.9 e vazão) é gravado em JSON em
+ * {@code benchmark.report} para comparar com execuções anteriores.
+ *
+ * <p>getById e update usam apenas ids semeados; delete remove um ninja criado pelo próprio cliente
+ * (sem nenhum pendente, a requisição vira um create), então leituras nunca encontram 404.
+ * Padrões: {@code 64} clientes, {@code 10000} ninjas, {@code getById=80,search=15,create=2,update=2,delete=1},
+ * {@code PT5S} de aquecimento, {@code PT15S} de medição e {@code target/benchmark/mixed-load.json}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:benchmark-mixed;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+    "logging.level.br.org.soujava.bsb.api.api=WARN"
+})
+@DisplayName("Mixed Load Benchmark")
+class MixedLoadBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MixedLoadBenchmark.class);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+    private static final int SEED = Integer.getInteger("benchmark.seed", 10_000);
+    private static final String MIX = System.getProperty("benchmark.mix", "getById=80,search=15,create=2,update=2,delete=1");
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT15S"));
+    private static final Path REPORT = Path.of(System.getProperty("benchmark.report", "target/benchmark/mixed-load.json"));
+
+    private static final List<String> VILAS = List.of("Konoha", "Sunagakure", "Kirigakure", "Kumogakure", "Iwagakure");
+    private static final List<String> RANKS = List.of("Genin", "Chunin", "Jounin", "Kage");
+    private static final List<String> CHAKRAS = List.of("Fogo", "Vento", "Raio", "Terra", "Água");
+
+    private enum Operation {
+        GET_BY_ID("getById"), SEARCH("search"), CREATE("create"), UPDATE("update"), DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Carga mista com relatório de latência por endpoint")
+    void cargaMista() throws Exception {
+        final Operation[] wheel = wheel(MIX);
+        final int[] ids = seed();
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            load(client, wheel, ids, WARMUP);
+            final var result = load(client, wheel, ids, DURATION);
+
+            final var total = new EndpointStats();
+            final Map<String, Object> endpoints = new LinkedHashMap<>();
+            result.forEach((operation, stats) -> {
+                total.add(stats);
+                endpoints.put(operation.key, stats.summary(DURATION));
+            });
+            final Map<String, Object> report = new LinkedHashMap<>();
+            report.put("clients", CLIENTS);
+            report.put("seed", SEED);
+            report.put("mix", MIX);
+            report.put("duration_s", DURATION.toSeconds());
+            report.put("total", total.summary(DURATION));
+            report.put("endpoints", endpoints);
+
+            final String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.writeString(REPORT, json);
+            LOGGER.info("mixed load report ({}):\n{}", REPORT, json);
+            assertThat(total.count()).as("requisições com sucesso").isPositive();
+        }
+    }
+
+    private EnumMap<Operation, EndpointStats> load(HttpClient client, Operation[] wheel, int[] ids, Duration duration) throws Exception {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final List<Future<EnumMap<Operation, EndpointStats>>> futures = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(executor.submit(() -> {
+                    final var stats = stats();
+                    final Deque<Integer> created = new ArrayDeque<>();
+                    final var random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        var operation = wheel[random.nextInt(wheel.length)];
+                        if (operation == Operation.DELETE && created.isEmpty()) {
+                            operation = Operation.CREATE;
+                        }
+                        final var request = request(operation, ids, created, random);
+                        final long start = System.nanoTime();
+                        try {
+                            final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() >= 300) {
+                                stats.get(operation).error();
+                                continue;
+                            }
+                            stats.get(operation).record(System.nanoTime() - start);
+                            if (operation == Operation.CREATE) {
+                                created.push(objectMapper.readTree(response.body()).get("id").asInt());
+                            }
+                        } catch (IOException e) {
+                            stats.get(operation).error();
+                        }
+                    }
+                    return stats;
+                }));
+            }
+        }
+        final var all = stats();
+        for (var future : futures) {
+            future.get().forEach((operation, stats) -> all.get(operation).add(stats));
+        }
+        return all;
+    }
+
+    private HttpRequest request(Operation operation, int[] ids, Deque<Integer> created, ThreadLocalRandom random) {
+        final int id = ids[random.nextInt(ids.length)];
+        return switch (operation) {
+            case GET_BY_ID -> get("/v1/ninjas/" + id);
+            case SEARCH -> get("/v1/ninjas?vila=" + pick(VILAS, random) + "&rank=" + pick(RANKS, random) + "&size=20");
+            case CREATE -> builder("/v1/ninjas")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"nome":"Carga %d","vila":"%s","rank":"Genin","chakra_tipo":"%s","nivel_forca":%d}"""
+                            .formatted(random.nextInt(1_000_000), pick(VILAS, random), pick(CHAKRAS, random), random.nextInt(1, 101))))
+                    .build();
+            case UPDATE -> builder("/v1/ninjas/" + id)
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"nivel_forca\":" + random.nextInt(1, 101) + "}"))
+                    .build();
+            case DELETE -> builder("/v1/ninjas/" + created.pop()).DELETE().build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    /** Semeia a base em lotes e devolve todos os ids existentes (inclusive os do {@code data.sql}). */
+    private int[] seed() {
+        final var random = ThreadLocalRandom.current();
+        final List<Object[]> rows = IntStream.range(0, SEED)
+                .mapToObj(i -> new Object[]{"Ninja " + i, pick(VILAS, random), Rank.fromLabel(pick(RANKS, random)).code(),
+                        ChakraTipo.fromLabel(pick(CHAKRAS, random)).code(), random.nextInt(1, 101)})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into ninja (nome, vila, rank, chakra_tipo, nivel_forca) values (?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id_ninja from ninja", Integer.class).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static EnumMap<Operation, EndpointStats> stats() {
+        final var stats = new EnumMap<Operation, EndpointStats>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        return stats;
+    }
+
+    /** Roleta com uma posição por unidade de peso, montada a partir de {@code getById=80,search=15,...}. */
+    private static Operation[] wheel(String mix) {
+        final List<Operation> wheel = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            final String[] pair = entry.trim().split("=");
+            final var operation = Arrays.stream(Operation.values())
+                    .filter(o -> o.key.equals(pair[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in benchmark.mix: " + pair[0]));
+            for (int i = 0; i < Integer.parseInt(pair[1].trim()); i++) {
+                wheel.add(operation);
+            }
+        }
+        return wheel.toArray(Operation[]::new);
+    }
+
+    private static String pick(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,115 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.repository.NinjaRepository;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Páginas grandes pelos dois caminhos de leitura da busca: entidades gerenciadas numa transação
+ * somente leitura e copiadas pelo {@code NinjaMapper}, contra {@code NinjaResponse} montado pelo
+ * SELECT ({@code findResponses}). Mede latência (p50/p99) e bytes alocados por página na thread
+ * que executa a consulta. Fora do {@code mvn test}: rode com {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:benchmark-projection;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+    "ninja.sql.slow-query-threshold=10s"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Ninja Search Projection Benchmark")
+class NinjaSearchProjectionBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NinjaSearchProjectionBenchmark.class);
+    private static final int SEED = 20_000;
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 100;
+    private static final List<String> VILAS = List.of("Konoha", "Sunagakure", "Kirigakure", "Kumogakure", "Iwagakure");
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private NinjaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private record Result(EndpointStats latency, long bytesPerPage) {
+    }
+
+    @BeforeAll
+    void seed() {
+        final var random = ThreadLocalRandom.current();
+        final List<Object[]> rows = IntStream.range(0, SEED)
+                .mapToObj(i -> new Object[]{"Ninja " + i, VILAS.get(random.nextInt(VILAS.size())), Rank.GENIN.code(), ChakraTipo.FOGO.code(), random.nextInt(1, 101)})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into ninja (nome, vila, rank, chakra_tipo, nivel_forca) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @ParameterizedTest(name = "página de {0}")
+    @ValueSource(ints = {100, 1_000, 5_000})
+    @DisplayName("Entidades + mapper x NinjaResponse no SELECT")
+    void compararCaminhosDeLeitura(int size) {
+        final Specification<NinjaEntity> todos = (root, query, builder) -> null;
+        final var pageable = PageRequest.of(1, size, Sort.by("id"));
+        final var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        final var entities = measure(() -> readOnly.execute(status -> MAPPER.toPageResponse(repository.findAll(todos, pageable))));
+        final var responses = measure(() -> repository.findResponses(todos, pageable));
+
+        report("entities + mapper", size, entities);
+        report("constructor select", size, responses);
+    }
+
+    private Result measure(Supplier<Page<NinjaResponse>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        final var latency = new EndpointStats();
+        final long threadId = Thread.currentThread().threadId();
+        final long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            final var page = search.get();
+            latency.record(System.nanoTime() - start);
+            assertThat(page.getContent()).isNotEmpty();
+        }
+        return new Result(latency, (THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore) / ITERATIONS);
+    }
+
+    private static void report(String strategy, int size, Result result) {
+        LOGGER.info("{} | page={} | p50 {} ms | p99 {} ms | {} KiB allocated/page",
+                String.format("%-18s", strategy), size,
+                result.latency().percentileMillis(50), result.latency().percentileMillis(99),
+                result.bytesPerPage() / 1024);
+    }
+}
@@ -0,0 +1,136 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
+import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
+import br.org.soujava.bsb.api.domain.service.NinjaService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Vazão de escritas concorrentes no mesmo ninja (pior caso de contenção), comparando o
+ * read-merge-save ({@code If-Match: *}) com o UPDATE condicional por versão. Cada escritor repete
+ * a escrita até conseguir; no caminho condicional ele guarda a versão devolvida e só relê a versão
+ * depois de um 412. Fora do {@code mvn test}: rode com {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@DisplayName("Ninja Update Contention Benchmark")
+class NinjaUpdateContentionBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NinjaUpdateContentionBenchmark.class);
+    private static final Integer HOT_ID = 1;
+    private static final Duration WARMUP = Duration.ofSeconds(1);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(3);
+
+    @Autowired
+    private NinjaService service;
+
+    private interface Writer {
+        /** Uma tentativa de escrita; {@code false} quando perdeu a corrida para outro escritor. */
+        boolean attempt(NinjaRequest request) throws ResourceNotFoundException;
+    }
+
+    private record Result(long updates, long conflicts) {
+    }
+
+    @ParameterizedTest(name = "{0} escritores")
+    @ValueSource(ints = {1, 4, 16})
+    @DisplayName("Read-merge-save x UPDATE condicional")
+    void compararVazaoSobContencao(int writers) throws Exception {
+        final var readMergeSave = measure(writers, () -> request -> {
+            try {
+                service.update(HOT_ID, request);
+                return true;
+            } catch (OptimisticLockingFailureException e) {
+                return false;
+            }
+        });
+        final var conditional = measure(writers, () -> new Writer() {
+            private Integer version;
+
+            @Override
+            public boolean attempt(NinjaRequest request) throws ResourceNotFoundException {
+                if (version == null) {
+                    version = service.findVersion(HOT_ID);
+                }
+                try {
+                    version = service.update(HOT_ID, version, request);
+                    return true;
+                } catch (PreconditionFailedException e) {
+                    version = null;
+                    return false;
+                }
+            }
+        });
+
+        report("read-merge-save", writers, readMergeSave);
+        report("conditional update", writers, conditional);
+    }
+
+    private Result measure(int writers, Supplier<Writer> writerFactory) throws Exception {
+        run(writers, writerFactory, WARMUP);
+        final Integer before = service.findVersion(HOT_ID);
+        final var result = run(writers, writerFactory, MEASUREMENT);
+        // nenhuma escrita perdida: cada sucesso incrementou a versão exatamente uma vez
+        assertThat(service.findVersion(HOT_ID) - before).isEqualTo(result.updates());
+        return result;
+    }
+
+    private Result run(int writers, Supplier<Writer> writerFactory, Duration duration) throws Exception {
+        final var updates = new LongAdder();
+        final var conflicts = new LongAdder();
+        final long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            final List<Future<?>> futures = new ArrayList<>(writers);
+            for (int w = 0; w < writers; w++) {
+                final int writer = w;
+                futures.add(executor.submit(() -> {
+                    final Writer client = writerFactory.get();
+                    long sequence = 0;
+                    while (System.nanoTime() < deadline) {
+                        if (client.attempt(request(writer, sequence++))) {
+                            updates.increment();
+                        } else {
+                            conflicts.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Result(updates.sum(), conflicts.sum());
+    }
+
+    private static void report(String strategy, int writers, Result result) {
+        final double seconds = MEASUREMENT.toMillis() / 1000.0;
+        final long attempts = result.updates() + result.conflicts();
+        LOGGER.info("{} | writers={} | {} updates/s | {} conflicts/s | conflict rate {}%",
+                String.format("%-18s", strategy), writers,
+                Math.round(result.updates() / seconds), Math.round(result.conflicts() / seconds),
+                attempts == 0 ? 0 : Math.round(100.0 * result.conflicts() / attempts));
+    }
+
+    /** Valor sempre diferente: no read-merge-save uma escrita sem mudança não gera UPDATE. */
+    private static NinjaRequest request(int writer, long sequence) {
+        return new NinjaRequest(null, null, null, null, null, "Ninjutsu " + writer + "-" + sequence, null, null, null, null);
+    }
+}
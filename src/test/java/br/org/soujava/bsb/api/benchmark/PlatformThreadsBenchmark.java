@@ -0,0 +1,21 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Servidor no modo padrão: pool fixo de platform threads do Tomcat.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:benchmark-platform;MODE=MYSQL;DB_CLOSE_DELAY=-1"
+        })
+@DisplayName("Platform Threads Benchmark")
+class PlatformThreadsBenchmark extends HttpLoadBenchmarkSupport {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,20 @@
+package br.org.soujava.bsb.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Servidor com o perfil {@code virtual-threads}: uma virtual thread por requisição.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:benchmark-virtual;MODE=MYSQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("virtual-threads")
+@DisplayName("Virtual Threads Benchmark")
+class VirtualThreadsBenchmark extends HttpLoadBenchmarkSupport {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,107 @@
+package br.org.soujava.bsb.api.core.cache;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Ninja Search Cache")
+class NinjaSearchCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private NinjaSearchCache searchCache;
+    private AtomicInteger consultas;
+    private Supplier<Page<NinjaEntity>> banco;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        NinjaProperties properties = mock(NinjaProperties.class);
+        when(properties.searchCache()).thenReturn(new NinjaProperties.SearchCache(Duration.ofMinutes(1), 1000));
+        searchCache = new NinjaSearchCache(properties, registry);
+        consultas = new AtomicInteger();
+        banco = () -> {
+            consultas.incrementAndGet();
+            return new PageImpl<>(List.of(new NinjaEntity()));
+        };
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o resultado para consultas equivalentes")
+    void deveReaproveitarResultadoParaConsultasEquivalentes() {
+        // Given: mesma consulta com vilas em ordem diferente e espaços
+        Pageable pagina = PageRequest.of(0, 10, Sort.by("nome"));
+
+        // When
+        searchCache.get(porVila("Konoha", "Sunagakure"), pagina, banco);
+        searchCache.get(porVila(" Sunagakure", "Konoha", "Konoha"), pagina, banco);
+
+        // Then: o banco é consultado uma vez e o acerto é contado no formato da consulta
+        assertThat(consultas).hasValue(1);
+        assertThat(registry.get("ninja.search.cache.requests")
+            .tag("shape", "vila;sort=nome: ASC").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("ninja.search.cache.requests")
+            .tag("shape", "vila;sort=nome: ASC").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas consultas da vila alterada e consultas sem filtro de vila")
+    void deveInvalidarPorGeracaoDaVila() {
+        // Given: três consultas já em cache
+        Pageable pagina = PageRequest.of(0, 10);
+        searchCache.get(porVila("Konoha"), pagina, banco);
+        searchCache.get(porVila("Sunagakure"), pagina, banco);
+        searchCache.get(semFiltro(), pagina, banco);
+
+        // When: um ninja de Konoha é alterado
+        searchCache.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of("Konoha")));
+        searchCache.get(porVila("Konoha"), pagina, banco);
+        searchCache.get(porVila("Sunagakure"), pagina, banco);
+        searchCache.get(semFiltro(), pagina, banco);
+
+        // Then: Konoha e a consulta sem filtro voltam ao banco; Sunagakure não
+        assertThat(consultas).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar tudo quando as vilas afetadas são desconhecidas")
+    void deveInvalidarTudoQuandoVilasDesconhecidas() {
+        // Given
+        Pageable pagina = PageRequest.of(0, 10);
+        searchCache.get(porVila("Sunagakure"), pagina, banco);
+
+        // When: escrita sem informação de vila
+        searchCache.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(4), Set.of()));
+        searchCache.get(porVila("Sunagakure"), pagina, banco);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+    }
+
+    private static NinjaQueryRequest porVila(String... vilas) {
+        return new NinjaQueryRequest(null, List.of(vilas), null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static NinjaQueryRequest semFiltro() {
+        return new NinjaQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
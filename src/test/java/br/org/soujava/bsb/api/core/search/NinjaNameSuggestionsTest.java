@@ -0,0 +1,165 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaSuggestionResponse;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Ninja Name Suggestions")
+class NinjaNameSuggestionsTest {
+
+    private NinjaNameSuggestions suggestions;
+    private AtomicInteger cargas;
+    private Consumer<Consumer<NinjaEntity>> banco;
+
+    @BeforeEach
+    void setUp() {
+        suggestions = new NinjaNameSuggestions();
+        cargas = new AtomicInteger();
+        banco = consumer -> {
+            cargas.incrementAndGet();
+            List.of(
+                ninja(1, "Naruto Uzumaki", 99),
+                ninja(2, "Sasuke Uchiha", 98),
+                ninja(3, "Itachi Uchiha", 97),
+                ninja(4, "Nagato Uzumaki", null),
+                ninja(5, "Hinata Hyūga", 80),
+                ninja(6, "Neji Hyūga", 85)).forEach(consumer);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve sugerir pelo início do nome ou de qualquer palavra, sem acentos nem maiúsculas")
+    void deveSugerirPorPrefixo() {
+        assertThat(ids(suggestions.suggest("NAR", 10, banco))).containsExactly(1);
+        assertThat(ids(suggestions.suggest("hyū", 10, banco))).containsExactly(6, 5);
+        assertThat(ids(suggestions.suggest("naruto uz", 10, banco))).containsExactly(1);
+        assertThat(ids(suggestions.suggest("n", 10, banco))).containsExactly(1, 6, 4);
+        assertThat(suggestions.suggest("naruto uchiha", 10, banco)).isEmpty();
+        assertThat(suggestions.suggest("", 10, banco)).isEmpty();
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por nivel_forca, nulos por último, e respeitar o limite")
+    void deveOrdenarPorNivelForca() {
+        // When
+        var uzumaki = suggestions.suggest("uzu", 10, banco);
+
+        // Then
+        assertThat(uzumaki).containsExactly(
+                new NinjaSuggestionResponse(1, "Naruto Uzumaki", 99),
+                new NinjaSuggestionResponse(4, "Nagato Uzumaki", null));
+        assertThat(ids(suggestions.suggest("u", 2, banco))).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar criação, patch e exclusão sem reconstruir")
+    void deveAplicarEscritasSemReconstruir() {
+        // Given
+        suggestions.suggest("n", 10, banco);
+        NinjaEntity nivel = new NinjaEntity();
+        nivel.setNivelForca(100);
+        NinjaEntity nome = new NinjaEntity();
+        nome.setNome("Pain");
+
+        // When
+        suggestions.onNinjaChanged(new NinjaChangedEvent.Created(List.of(ninja(7, "Naruko Uzumaki", 50))));
+        suggestions.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(6), Set.of(), nivel, Set.of("nivelForca")));
+        suggestions.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(4), Set.of(), nome, null));
+        suggestions.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
+
+        // Then
+        assertThat(ids(suggestions.suggest("naru", 10, banco))).containsExactly(7);
+        assertThat(ids(suggestions.suggest("n", 10, banco))).containsExactly(6, 7);
+        assertThat(ids(suggestions.suggest("uzumaki", 10, banco))).containsExactly(7);
+        assertThat(ids(suggestions.suggest("pa", 10, banco))).containsExactly(4);
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve continuar igual a uma busca linear depois de muitas escritas")
+    void deveContinuarIgualABuscaLinear() {
+        // Given: nomes curtos de poucas sílabas, para dividir e podar muitas arestas
+        suggestions.suggest("a", 10, banco);
+        final Random random = new Random(7);
+        final String[] silabas = {"na", "ru", "to", "sa", "ke", "ka", "shi", "ri", "n"};
+        final Map<Integer, NinjaSuggestionResponse> esperado = new HashMap<>();
+        List.of(ninja(1, "Naruto Uzumaki", 99), ninja(2, "Sasuke Uchiha", 98), ninja(3, "Itachi Uchiha", 97),
+                ninja(4, "Nagato Uzumaki", null), ninja(5, "Hinata Hyūga", 80), ninja(6, "Neji Hyūga", 85))
+                .forEach(ninja -> esperado.put(ninja.getId(), new NinjaSuggestionResponse(ninja.getId(), ninja.getNome(), ninja.getNivelForca())));
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            final int id = random.nextInt(60) + 1;
+            if (random.nextInt(4) == 0) {
+                esperado.remove(id);
+                suggestions.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(id), Set.of()));
+            } else {
+                final String nome = silabas[random.nextInt(silabas.length)] + silabas[random.nextInt(silabas.length)]
+                        + (random.nextBoolean() ? " " + silabas[random.nextInt(silabas.length)] + silabas[random.nextInt(silabas.length)] : "");
+                final Integer nivel = random.nextInt(10) == 0 ? null : random.nextInt(100);
+                final var ninja = ninja(id, nome, nivel);
+                esperado.put(id, new NinjaSuggestionResponse(id, nome, nivel));
+                suggestions.onNinjaChanged(new NinjaChangedEvent.Created(List.of(ninja)));
+            }
+        }
+
+        // Then: todo prefixo de até 3 letras das sílabas
+        final Comparator<NinjaSuggestionResponse> ranking = Comparator
+                .comparing(NinjaSuggestionResponse::nivelForca, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(NinjaSuggestionResponse::id);
+        for (String a : silabas) {
+            for (String b : List.of("", "a", "r", "n", "k", "s")) {
+                final String prefixo = (a + b).substring(0, Math.min(3, (a + b).length()));
+                final var linear = esperado.values().stream()
+                        .filter(ninja -> List.of(ninja.nome().toLowerCase().split(" ")).stream()
+                                .anyMatch(palavra -> palavra.startsWith(prefixo)) || ninja.nome().toLowerCase().startsWith(prefixo))
+                        .sorted(ranking)
+                        .limit(NinjaNameSuggestions.MAX_LIMIT)
+                        .toList();
+                assertThat(suggestions.suggest(prefixo, NinjaNameSuggestions.MAX_LIMIT, banco)).as(prefixo).isEqualTo(linear);
+            }
+        }
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir quando os valores gravados são desconhecidos")
+    void deveReconstruirQuandoValoresDesconhecidos() {
+        // Given
+        suggestions.suggest("n", 10, banco);
+
+        // When
+        suggestions.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of()));
+        suggestions.suggest("n", 10, banco);
+
+        // Then
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static List<Integer> ids(List<NinjaSuggestionResponse> suggestions) {
+        return suggestions.stream().map(NinjaSuggestionResponse::id).toList();
+    }
+
+    private static NinjaEntity ninja(Integer id, String nome, Integer nivelForca) {
+        NinjaEntity ninja = new NinjaEntity();
+        ninja.setId(id);
+        ninja.setNome(nome);
+        ninja.setNivelForca(nivelForca);
+        return ninja;
+    }
+}
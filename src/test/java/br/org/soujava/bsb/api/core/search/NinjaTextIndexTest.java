@@ -0,0 +1,141 @@
+package br.org.soujava.bsb.api.core.search;
+
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Ninja Text Index")
+class NinjaTextIndexTest {
+
+    private NinjaTextIndex index;
+    private AtomicInteger cargas;
+    private Consumer<Consumer<NinjaEntity>> banco;
+
+    @BeforeEach
+    void setUp() {
+        index = new NinjaTextIndex();
+        cargas = new AtomicInteger();
+        banco = consumer -> {
+            cargas.incrementAndGet();
+            List.of(
+                ninja(1, "Naruto Uzumaki", "Ninjutsu", null),
+                ninja(2, "Sasuke Uchiha", "Ninjutsu", "Sharingan/Rinnegan"),
+                ninja(3, "Itachi Uchiha", "Genjutsu", "Sharingan"),
+                ninja(4, "Rock Lee", "Taijutsu", null),
+                ninja(5, "Kakashi Hatake", "Ninjutsu", "Sharingan"),
+                ninja(6, "Hinata Hyūga", "Taijutsu", "Byakugan")).forEach(consumer);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve quebrar em termos sem acento e em minúsculas")
+    void deveQuebrarEmTermos() {
+        assertThat(NinjaTextIndex.tokens("Hinata Hyūga")).containsExactly("hinata", "hyuga");
+        assertThat(NinjaTextIndex.tokens("Sharingan/Rinnegan")).containsExactly("sharingan", "rinnegan");
+        assertThat(NinjaTextIndex.tokens(" -- ")).isEmpty();
+        assertThat(NinjaTextIndex.tokens(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar sem diferenciar acentos nem maiúsculas")
+    void deveEncontrarSemAcentosNemMaiusculas() {
+        assertThat(ids(index.search("HYUGA", 10, banco))).containsExactly(6);
+        assertThat(ids(index.search("hyūga", 10, banco))).containsExactly(6);
+        assertThat(index.search("Akatsuki", 10, banco)).isEmpty();
+        assertThat(index.search("  ", 10, banco)).isEmpty();
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por BM25: mais termos e documento mais curto primeiro")
+    void deveOrdenarPorBm25() {
+        // When
+        var hits = index.search("uchiha sharingan", 10, banco);
+
+        // Then: Itachi e Sasuke têm os dois termos (Itachi com menos termos no total); Kakashi só sharingan
+        assertThat(ids(hits)).containsExactly(3, 2, 5);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(ids(index.search("uchiha sharingan", 2, banco))).containsExactly(3, 2);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar criação, patch e exclusão sem reconstruir")
+    void deveAplicarEscritasSemReconstruir() {
+        // Given
+        index.search("sharingan", 10, banco);
+        NinjaEntity patch = new NinjaEntity();
+        NinjaEntity nome = new NinjaEntity();
+        nome.setNome("Maito Gai");
+
+        // When: Obito criado, Kakashi perde o kekkei_genkai (patch com nulo), Itachi excluído duas vezes
+        index.onNinjaChanged(new NinjaChangedEvent.Created(List.of(ninja(7, "Obito Uchiha", "Ninjutsu", "Sharingan"))));
+        index.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(5), Set.of(), patch, Set.of("kekkeiGenkai")));
+        index.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(3), Set.of()));
+        index.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(3), Set.of()));
+        index.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(4), Set.of(), nome, null));
+
+        // Then: update sem attributes só grava os campos não nulos
+        assertThat(ids(index.search("sharingan", 10, banco))).containsExactlyInAnyOrder(2, 7);
+        assertThat(ids(index.search("gai", 10, banco))).containsExactly(4);
+        assertThat(ids(index.search("lee", 10, banco))).isEmpty();
+        assertThat(ids(index.search("taijutsu", 10, banco))).containsExactlyInAnyOrder(4, 6);
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve continuar correto depois de compactar os slots removidos")
+    void deveCompactarSlotsRemovidos() {
+        // Given
+        index.search("naruto", 10, banco);
+        NinjaEntity values = new NinjaEntity();
+
+        // When: cada alteração deixa um slot removido para trás
+        for (int i = 0; i < 3_000; i++) {
+            values.setNome(i % 2 == 0 ? "Naruto Uzumaki" : "Naruto Namikaze");
+            index.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of(), values, Set.of("nome")));
+        }
+
+        // Then
+        assertThat(ids(index.search("naruto", 10, banco))).containsExactly(1);
+        assertThat(ids(index.search("namikaze", 10, banco))).containsExactly(1);
+        assertThat(index.search("uzumaki", 10, banco)).isEmpty();
+        assertThat(ids(index.search("ninjutsu", 10, banco))).containsExactly(1, 5, 2);
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir quando os valores gravados são desconhecidos")
+    void deveReconstruirQuandoValoresDesconhecidos() {
+        // Given
+        index.search("naruto", 10, banco);
+
+        // When
+        index.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of()));
+        index.search("naruto", 10, banco);
+
+        // Then
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static List<Integer> ids(List<NinjaTextIndex.Hit> hits) {
+        return hits.stream().map(NinjaTextIndex.Hit::id).toList();
+    }
+
+    private static NinjaEntity ninja(Integer id, String nome, String especialidade, String kekkeiGenkai) {
+        NinjaEntity ninja = new NinjaEntity();
+        ninja.setId(id);
+        ninja.setNome(nome);
+        ninja.setEspecialidade(especialidade);
+        ninja.setKekkeiGenkai(kekkeiGenkai);
+        return ninja;
+    }
+}
@@ -0,0 +1,149 @@
+package br.org.soujava.bsb.api.core.stats;
+
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Ninja Stats Counters")
+class NinjaStatsCountersTest {
+
+    private NinjaStatsCounters counters;
+    private AtomicInteger cargas;
+    private Supplier<List<Tuple>> banco;
+
+    @BeforeEach
+    void setUp() {
+        counters = new NinjaStatsCounters();
+        cargas = new AtomicInteger();
+        banco = () -> {
+            cargas.incrementAndGet();
+            return List.of(
+                linha(1, "Konoha", Rank.HOKAGE, Status.ATIVO, ChakraTipo.VENTO, 98),
+                linha(2, "Konoha", Rank.JOUNIN, Status.RENEGADO, ChakraTipo.FOGO, 97),
+                linha(4, "Sunagakure", Rank.KAZEKAGE, Status.ATIVO, ChakraTipo.VENTO, 95));
+        };
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e devolver facetas e agregados")
+    void deveCarregarUmaVez() {
+        // When
+        NinjaStatsResponse stats = counters.get(banco);
+        counters.get(banco);
+
+        // Then
+        assertThat(cargas).hasValue(1);
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.vila()).containsExactly(entry("Konoha", 2L), entry("Sunagakure", 1L));
+        assertThat(stats.chakraTipo()).containsExactly(entry("Fogo", 1L), entry("Vento", 2L));
+        assertThat(stats.nivelForcaMedia()).isEqualTo(96.67);
+        assertThat(stats.nivelForcaMaximo()).isEqualTo(98);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar criação, patch e exclusão sem recarregar")
+    void deveAplicarEscritasSemRecarregar() {
+        // Given
+        counters.get(banco);
+        NinjaEntity novo = ninja(5, "Kirigakure", Rank.GENIN, null, ChakraTipo.AGUA, 40);
+        NinjaEntity patch = new NinjaEntity();
+
+        // When: criação, patch que limpa o status do 2 e exclusão do 1 (maior nível)
+        counters.onNinjaChanged(new NinjaChangedEvent.Created(List.of(novo)));
+        counters.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(2), Set.of(), patch, Set.of("status")));
+        counters.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
+        counters.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
+        NinjaStatsResponse stats = counters.get(banco);
+
+        // Then: exclusão repetida não conta duas vezes e o máximo acompanha a exclusão
+        assertThat(cargas).hasValue(1);
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.vila()).containsExactly(entry("Kirigakure", 1L), entry("Konoha", 1L), entry("Sunagakure", 1L));
+        assertThat(stats.status()).containsExactly(entry("Ativo", 1L));
+        assertThat(stats.rank()).doesNotContainKey("Hokage");
+        assertThat(stats.nivelForcaMaximo()).isEqualTo(97);
+        assertThat(stats.nivelForcaMedia()).isEqualTo(77.33);
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar as escritas que chegam durante a carga")
+    void deveReaplicarEscritasDuranteACarga() {
+        // Given: durante a consulta, o 5 é criado e o 1 (já lido pela carga) é excluído
+        NinjaEntity novo = ninja(5, "Kirigakure", Rank.GENIN, Status.ATIVO, ChakraTipo.AGUA, 40);
+        Supplier<List<Tuple>> bancoComEscritas = () -> {
+            List<Tuple> linhas = banco.get();
+            counters.onNinjaChanged(new NinjaChangedEvent.Created(List.of(novo)));
+            counters.onNinjaChanged(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
+            return linhas;
+        };
+
+        // When
+        NinjaStatsResponse stats = counters.get(bancoComEscritas);
+        counters.get(banco);
+
+        // Then: estado publicado já com as duas escritas, sem segunda carga
+        assertThat(cargas).hasValue(1);
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.vila()).containsExactly(entry("Kirigakure", 1L), entry("Konoha", 1L), entry("Sunagakure", 1L));
+        assertThat(stats.nivelForcaMaximo()).isEqualTo(97);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar quando os valores gravados são desconhecidos")
+    void deveRecarregarQuandoValoresDesconhecidos() {
+        // Given
+        counters.get(banco);
+
+        // When
+        counters.onNinjaChanged(new NinjaChangedEvent.Updated(Set.of(1), Set.of()));
+        counters.get(banco);
+
+        // Then
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static NinjaEntity ninja(Integer id, String vila, Rank rank, Status status, ChakraTipo chakraTipo, Integer nivelForca) {
+        NinjaEntity ninja = new NinjaEntity();
+        ninja.setId(id);
+        ninja.setVila(vila);
+        ninja.setRank(rank);
+        ninja.setStatus(status);
+        ninja.setChakraTipo(chakraTipo);
+        ninja.setNivelForca(nivelForca);
+        return ninja;
+    }
+
+    private static Tuple linha(Integer id, String vila, Rank rank, Status status, ChakraTipo chakraTipo, Integer nivelForca) {
+        Map<String, Object> valores = new HashMap<>();
+        valores.put("id", id);
+        valores.put("vila", vila);
+        valores.put("rank", rank);
+        valores.put("status", status);
+        valores.put("chakraTipo", chakraTipo);
+        valores.put("nivelForca", nivelForca);
+        Tuple tupla = mock(Tuple.class);
+        when(tupla.get(anyString(), any())).thenAnswer(invocation -> valores.get(invocation.<String>getArgument(0)));
+        return tupla;
+    }
+}
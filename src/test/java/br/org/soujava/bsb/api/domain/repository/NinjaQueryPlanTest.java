@@ -0,0 +1,222 @@
+package br.org.soujava.bsb.api.domain.repository;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.specification.NinjaSpecifications;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa {@code EXPLAIN} sobre o SQL que o Hibernate gera nas buscas mais comuns e falha se
+ * alguma delas cair em varredura completa da tabela ({@code tableScan} no plano do H2).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Ninja Query Plan")
+class NinjaQueryPlanTest {
+
+    private static final PageRequest PRIMEIRA_PAGINA = PageRequest.of(0, 10);
+
+    @Autowired
+    private NinjaRepository ninjaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingStatementInspector statements;
+
+    @BeforeEach
+    void setUp() {
+        statements.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("buscasComuns")
+    @DisplayName("Deve usar índice em todas as consultas geradas pela busca")
+    void deveUsarIndiceNasBuscasComuns(String descricao, Consumer<NinjaRepository> busca) {
+        // When: executar a busca e capturar o SQL gerado
+        busca.accept(ninjaRepository);
+
+        // Then: nenhum plano pode ser varredura completa da tabela
+        assertThat(statements.sql()).isNotEmpty();
+        statements.sql().forEach(sql ->
+            assertThat(explain(sql))
+                .as("Plano de %s", sql)
+                .doesNotContainIgnoringCase("tableScan"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar UPDATE apenas com as colunas do patch, posicionado pela chave primária")
+    void deveGerarUpdateSomenteComColunasAlteradas() {
+        // Given: patch só de status
+        NinjaEntity valores = new NinjaEntity();
+        valores.setStatus(Status.DESAPARECIDO);
+
+        // When
+        ninjaRepository.updateColumns(1, null, valores, Set.of("status"));
+
+        // Then: SET com status e versão, WHERE pela PK
+        assertThat(statements.sql()).singleElement().satisfies(sql -> {
+            assertThat(sql.toLowerCase().replaceAll("\\s+", " "))
+                .matches("update ninja \\w+ set status=\\?,version=\\(\\w+\\.version\\+[^,]+\\) where \\w+\\.id_ninja=\\?");
+            assertThat(explain(sql)).doesNotContainIgnoringCase("tableScan");
+        });
+    }
+
+    @Test
+    @DisplayName("Deve selecionar apenas as colunas pedidas na projeção por campos")
+    void deveSelecionarSomenteColunasDaProjecao() {
+        // Given
+        var consulta = filtro(new NinjaQueryRequest(null, List.of("Konoha"),
+            null, null, null, null, null, null, null, null, null, null, null));
+
+        // When
+        var pagina = ninjaRepository.findFields(consulta, PageRequest.of(0, 2), Set.of("id", "nome", "rank", "version"));
+
+        // Then: tuplas com os aliases pedidos, SELECT sem as demais colunas e sem varredura completa
+        assertThat(pagina.getContent()).hasSize(2).allSatisfy(tupla ->
+            assertThat(tupla.getElements()).extracting(e -> e.getAlias())
+                .containsExactlyInAnyOrder("id", "nome", "rank", "version"));
+        assertThat(statements.sql()).first().satisfies(sql -> {
+            String select = sql.toLowerCase().substring(0, sql.toLowerCase().indexOf(" from "));
+            assertThat(select).contains("nome", "rank").doesNotContain("especialidade", "chakra_tipo", "kekkei_genkai", "vila");
+        });
+        statements.sql().forEach(sql -> assertThat(explain(sql)).doesNotContainIgnoringCase("tableScan"));
+    }
+
+    static Stream<Arguments> buscasComuns() {
+        return Stream.of(
+            busca("vila", repo -> repo.findAll(exemplo(n -> n.setVila("Konoha")), PRIMEIRA_PAGINA)),
+            busca("vila + rank", repo -> repo.findAll(exemplo(n -> { n.setVila("Konoha"); n.setRank(Rank.JOUNIN); }), PRIMEIRA_PAGINA)),
+            busca("rank", repo -> repo.findAll(exemplo(n -> n.setRank(Rank.KAGE)), PRIMEIRA_PAGINA)),
+            busca("cla", repo -> repo.findAll(exemplo(n -> n.setCla("Uchiha")), PRIMEIRA_PAGINA)),
+            busca("chakra_tipo", repo -> repo.findAll(exemplo(n -> n.setChakraTipo(ChakraTipo.VENTO)), PRIMEIRA_PAGINA)),
+            busca("kekkei_genkai", repo -> repo.findAll(exemplo(n -> n.setKekkeiGenkai("Sharingan")), PRIMEIRA_PAGINA)),
+            busca("especialidade", repo -> repo.findAll(exemplo(n -> n.setEspecialidade("Ninjutsu")), PRIMEIRA_PAGINA)),
+            busca("nome", repo -> repo.findAll(exemplo(n -> n.setNome("Gaara")), PRIMEIRA_PAGINA)),
+            busca("status", repo -> repo.findAll(exemplo(n -> n.setStatus(Status.ATIVO)), PRIMEIRA_PAGINA)),
+            busca("status + nivel_forca", repo -> repo.findAll(exemplo(n -> { n.setStatus(Status.ATIVO); n.setNivelForca(95); }), PRIMEIRA_PAGINA)),
+            busca("nivel_forca", repo -> repo.findAll(exemplo(n -> n.setNivelForca(95)), PRIMEIRA_PAGINA)),
+            busca("vila como NinjaResponse", repo -> repo.findResponses(filtro(new NinjaQueryRequest(null, List.of("Konoha"),
+                null, null, null, null, null, null, null, null, null, null, null)), PageRequest.of(0, 1))),
+            busca("vila ordenada por nivel_forca",
+                repo -> repo.findAll(exemplo(n -> n.setVila("Konoha")), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "nivelForca")))),
+            busca("ordenação por nivel_forca sem filtro",
+                repo -> repo.findSlice(semFiltro(), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "nivelForca")))),
+            busca("ordenação por nome sem filtro", repo -> repo.findSlice(semFiltro(), PageRequest.of(0, 10, Sort.by("nome")))),
+            busca("ordenação por data_registro sem filtro",
+                repo -> repo.findSlice(semFiltro(), PageRequest.of(0, 10, Sort.by("dataRegistro")))),
+            busca("várias vilas", repo -> repo.findAll(filtro(new NinjaQueryRequest(null, List.of("Konoha", "Sunagakure"),
+                null, null, null, null, null, null, null, null, null, null, null)), PRIMEIRA_PAGINA)),
+            busca("prefixo do nome", repo -> repo.findAll(filtro(new NinjaQueryRequest("Sa", null,
+                null, null, null, null, null, null, null, null, null, null, null)), PRIMEIRA_PAGINA)),
+            busca("status + faixa de nivel_forca", repo -> repo.findAll(filtro(new NinjaQueryRequest(null, null,
+                null, null, null, null, null, List.of("Ativo"), null, 80, 99, null, null)), PRIMEIRA_PAGINA)),
+            busca("faixa de data_registro", repo -> repo.findAll(filtro(new NinjaQueryRequest(null, null,
+                null, null, null, null, null, null, null, null, null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))),
+                PRIMEIRA_PAGINA)),
+            busca("cursor nivel_forca DESC",
+                repo -> repo.findAfter(semFiltro(), Sort.Order.desc("nivelForca"), cursor(Sort.Direction.DESC, "95", 4), 10)),
+            busca("cursor nivel_forca DESC a partir de nulo",
+                repo -> repo.findAfter(semFiltro(), Sort.Order.desc("nivelForca"), cursor(Sort.Direction.DESC, null, 4), 10)),
+            busca("cursor nivel_forca ASC a partir de nulo",
+                repo -> repo.findAfter(semFiltro(), Sort.Order.asc("nivelForca"), cursor(Sort.Direction.ASC, null, 4), 10)),
+            busca("cursor nivel_forca ASC",
+                repo -> repo.findAfter(semFiltro(), Sort.Order.asc("nivelForca"), cursor(Sort.Direction.ASC, "85", 3), 10))
+        );
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+            resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+
+    private static Arguments busca(String descricao, Consumer<NinjaRepository> busca) {
+        return Arguments.of(descricao, busca);
+    }
+
+    private static Example<NinjaEntity> exemplo(Consumer<NinjaEntity> filtro) {
+        NinjaEntity probe = new NinjaEntity();
+        filtro.accept(probe);
+        return Example.of(probe);
+    }
+
+    private static Specification<NinjaEntity> filtro(NinjaQueryRequest consulta) {
+        return NinjaSpecifications.of(consulta);
+    }
+
+    private static Specification<NinjaEntity> semFiltro() {
+        return (root, query, builder) -> null;
+    }
+
+    private static KeysetCursor cursor(Sort.Direction direction, String valor, Integer id) {
+        return new KeysetCursor("nivelForca", direction, valor, id);
+    }
+
+    /**
+     * Guarda o SQL de cada statement preparado pelo Hibernate durante o teste.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> sql = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            this.sql.add(sql);
+            return sql;
+        }
+
+        List<String> sql() {
+            return sql;
+        }
+
+        void clear() {
+            sql.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
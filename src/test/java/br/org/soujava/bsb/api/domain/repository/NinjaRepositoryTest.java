@@ -1,17 +1,35 @@
 package br.org.soujava.bsb.api.domain.repository;
 
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.core.pagination.KeysetCursor;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.specification.NinjaSpecifications;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -58,7 +76,7 @@ class NinjaRepositoryTest {
         assertThat(ninjaEncontrado).isPresent();
         assertThat(ninjaEncontrado.get().getNome()).isEqualTo("Naruto Uzumaki");
         assertThat(ninjaEncontrado.get().getVila()).isEqualTo("Konoha");
-        assertThat(ninjaEncontrado.get().getRank()).isEqualTo("Hokage");
+        assertThat(ninjaEncontrado.get().getRank()).isEqualTo(Rank.HOKAGE);
     }
 
     @Test
@@ -82,11 +100,11 @@ class NinjaRepositoryTest {
         novoNinja.setNome("Kakashi Hatake");
         novoNinja.setVila("Konoha");
         novoNinja.setCla("Hatake");
-        novoNinja.setRank("Jounin");
-        novoNinja.setChakraTipo("Raio");
+        novoNinja.setRank(Rank.JOUNIN);
+        novoNinja.setChakraTipo(ChakraTipo.RAIO);
         novoNinja.setEspecialidade("Ninjutsu");
         novoNinja.setKekkeiGenkai("Sharingan");
-        novoNinja.setStatus("Ativo");
+        novoNinja.setStatus(Status.ATIVO);
         novoNinja.setNivelForca(92);
         novoNinja.setDataRegistro(LocalDate.now());
 
@@ -108,20 +126,61 @@ class NinjaRepositoryTest {
     void deveAtualizarNinjaExistente() {
         // Given: buscar ninja existente para atualizar
         NinjaEntity sasuke = ninjaRepository.findById(2).orElseThrow();
-        String statusOriginal = sasuke.getStatus();
+        Status statusOriginal = sasuke.getStatus();
 
         // When: atualizar status do Sasuke para "Ativo" (redenção!)
-        sasuke.setStatus("Ativo");
-        sasuke.setRank("Hokage"); // Promoção!
+        sasuke.setStatus(Status.ATIVO);
+        sasuke.setRank(Rank.HOKAGE); // Promoção!
         NinjaEntity sasukeAtualizado = ninjaRepository.save(sasuke);
 
         // Then: deve atualizar sem criar novo registro
         assertThat(sasukeAtualizado.getId()).isEqualTo(2);
-        assertThat(sasukeAtualizado.getStatus()).isEqualTo("Ativo");
-        assertThat(sasukeAtualizado.getRank()).isEqualTo("Hokage");
+        assertThat(sasukeAtualizado.getStatus()).isEqualTo(Status.ATIVO);
+        assertThat(sasukeAtualizado.getRank()).isEqualTo(Rank.HOKAGE);
         assertThat(sasukeAtualizado.getStatus()).isNotEqualTo(statusOriginal);
     }
 
+    @Test
+    @DisplayName("Deve atualizar condicionalmente apenas os campos informados e incrementar a versão")
+    void deveAtualizarCondicionalmentePelaVersao() {
+        // Given: versão atual do Sasuke e alteração só do status
+        Integer versao = ninjaRepository.findVersionById(2).orElseThrow();
+        NinjaEntity alteracao = new NinjaEntity();
+        alteracao.setStatus(Status.ATIVO);
+
+        // When: UPDATE com a versão certa e depois com a versão antiga
+        int comVersaoAtual = ninjaRepository.updateIfVersion(2, versao, alteracao);
+        int comVersaoAntiga = ninjaRepository.updateIfVersion(2, versao, alteracao);
+        entityManager.clear();
+
+        // Then: só a primeira altera a linha; os demais campos são preservados
+        assertThat(comVersaoAtual).isEqualTo(1);
+        assertThat(comVersaoAntiga).isZero();
+        NinjaEntity sasuke = ninjaRepository.findById(2).orElseThrow();
+        assertThat(sasuke.getVersion()).isEqualTo(versao + 1);
+        assertThat(sasuke.getStatus()).isEqualTo(Status.ATIVO);
+        assertThat(sasuke.getNome()).isEqualTo("Sasuke Uchiha");
+        assertThat(ninjaRepository.updateIfVersion(999, 0, alteracao)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve limpar coluna opcional e preservar as demais no UPDATE por colunas")
+    void deveAtualizarSomenteColunasInformadas() {
+        // Given: remover o clã do Naruto
+        Integer versao = ninjaRepository.findVersionById(1).orElseThrow();
+
+        // When
+        int alteradas = ninjaRepository.updateColumns(1, null, new NinjaEntity(), Set.of("cla"));
+        entityManager.clear();
+
+        // Then
+        assertThat(alteradas).isEqualTo(1);
+        NinjaEntity naruto = ninjaRepository.findById(1).orElseThrow();
+        assertThat(naruto.getCla()).isNull();
+        assertThat(naruto.getNome()).isEqualTo("Naruto Uzumaki");
+        assertThat(naruto.getVersion()).isEqualTo(versao + 1);
+    }
+
     @Test
     @DisplayName("Deve deletar ninja por ID")
     void deveDeletarNinjaPorId() {
@@ -129,8 +188,8 @@ class NinjaRepositoryTest {
         NinjaEntity ninjaTemp = new NinjaEntity();
         ninjaTemp.setNome("Ninja Temporário");
         ninjaTemp.setVila("Vila Teste");
-        ninjaTemp.setRank("Genin");
-        ninjaTemp.setChakraTipo("Agua");
+        ninjaTemp.setRank(Rank.GENIN);
+        ninjaTemp.setChakraTipo(ChakraTipo.AGUA);
         ninjaTemp = ninjaRepository.save(ninjaTemp);
         Integer idParaDeletar = ninjaTemp.getId();
 
@@ -144,6 +203,28 @@ class NinjaRepositoryTest {
         assertThat(ninjaRepository.findById(idParaDeletar)).isEmpty();
     }
 
+    @Test
+    @DisplayName("Deve deletar por id com um único DELETE e informar as linhas removidas")
+    void deveDeletarPorIdComContagem() {
+        // Given: ninja temporário
+        NinjaEntity ninjaTemp = new NinjaEntity();
+        ninjaTemp.setNome("Ninja Temporário");
+        ninjaTemp.setVila("Vila Teste");
+        ninjaTemp.setRank(Rank.GENIN);
+        ninjaTemp.setChakraTipo(ChakraTipo.AGUA);
+        Integer id = entityManager.persistFlushFind(ninjaTemp).getId();
+        entityManager.clear();
+
+        // When: deletar duas vezes
+        int primeira = ninjaRepository.deleteRowById(id);
+        int segunda = ninjaRepository.deleteRowById(id);
+
+        // Then
+        assertThat(primeira).isEqualTo(1);
+        assertThat(segunda).isZero();
+        assertThat(ninjaRepository.existsById(id)).isFalse();
+    }
+
     @Test
     @DisplayName("Deve contar total de ninjas")
     void deveContarTotalDeNinjas() {
@@ -170,9 +251,9 @@ class NinjaRepositoryTest {
     @DisplayName("Deve salvar múltiplos ninjas em lote")
     void deveSalvarMultiplosNinjasEmLote() {
         // Given: lista de novos ninjas
-        NinjaEntity ninja1 = criarNinja("Rock Lee", "Konoha", "Jounin");
-        NinjaEntity ninja2 = criarNinja("Neji Hyuga", "Konoha", "Jounin");
-        NinjaEntity ninja3 = criarNinja("Tenten", "Konoha", "Jounin");
+        NinjaEntity ninja1 = criarNinja("Rock Lee", "Konoha", Rank.JOUNIN);
+        NinjaEntity ninja2 = criarNinja("Neji Hyuga", "Konoha", Rank.JOUNIN);
+        NinjaEntity ninja3 = criarNinja("Tenten", "Konoha", Rank.JOUNIN);
 
         List<NinjaEntity> novosNinjas = List.of(ninja1, ninja2, ninja3);
 
@@ -191,7 +272,7 @@ class NinjaRepositoryTest {
     @DisplayName("Deve usar TestEntityManager para operações de baixo nível")
     void deveUsarTestEntityManagerParaOperacoesBaixoNivel() {
         // Given: criar ninja usando EntityManager
-        NinjaEntity ninja = criarNinja("Jiraiya", "Konoha", "Sannin");
+        NinjaEntity ninja = criarNinja("Jiraiya", "Konoha", Rank.SANNIN);
 
         // When: persistir e flush usando TestEntityManager
         NinjaEntity ninjaPersistido = entityManager.persistAndFlush(ninja);
@@ -205,16 +286,266 @@ class NinjaRepositoryTest {
         assertThat(ninjaEncontrado.get().getNome()).isEqualTo("Jiraiya");
     }
 
+    @Test
+    @DisplayName("Deve percorrer ninjas em stream ordenado e desanexado do contexto")
+    void devePercorrerNinjasEmStreamDesanexados() {
+        // Given: filtro por vila
+        Specification<NinjaEntity> konoha = (root, query, builder) -> builder.equal(root.get("vila"), "Konoha");
+
+        // When: consumir o stream ordenado por nível de força
+        List<NinjaEntity> ninjas;
+        try (Stream<NinjaEntity> stream = ninjaRepository.streamAll(konoha, Sort.by(Sort.Direction.DESC, "nivelForca"), 2)) {
+            ninjas = stream.toList();
+        }
+
+        // Then: somente Konoha, na ordem pedida, e nenhuma entidade gerenciada
+        assertThat(ninjas)
+            .extracting(NinjaEntity::getNome)
+            .containsExactly("Naruto Uzumaki", "Sasuke Uchiha", "Sakura Haruno");
+        assertThat(ninjas).noneMatch(ninja -> entityManager.getEntityManager().contains(ninja));
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor sem repetir nem pular ninjas com empates e nível de força nulo")
+    void devePaginarPorCursorComEmpatesENulos() {
+        // Given: dois ninjas empatados em 80 e um sem nível de força
+        NinjaEntity jiraiya = entityManager.persist(criarNinja("Jiraiya", "Konoha", Rank.SANNIN));
+        NinjaEntity kakashi = entityManager.persist(criarNinja("Kakashi Hatake", "Konoha", Rank.JOUNIN));
+        NinjaEntity tobi = criarNinja("Tobi", "Akatsuki", Rank.GENIN);
+        tobi.setNivelForca(null);
+        entityManager.persistAndFlush(tobi);
+        entityManager.clear();
+        Specification<NinjaEntity> todos = (root, query, builder) -> null;
+        Sort.Order order = Sort.Order.desc("nivelForca");
+
+        // When: percorrer todas as páginas de 2 em 2 pelo cursor
+        List<Integer> ids = new ArrayList<>();
+        KeysetCursor cursor = null;
+        List<NinjaEntity> pagina;
+        do {
+            pagina = ninjaRepository.findAfter(todos, order, cursor, 2);
+            pagina.forEach(ninja -> ids.add(ninja.getId()));
+            cursor = pagina.isEmpty() ? null : KeysetCursor.decode(KeysetCursor.after(pagina.getLast(), order).encode());
+        } while (pagina.size() == 2);
+
+        // Then: mesma ordem da consulta completa, empates por id e nulos por último
+        assertThat(ids).containsExactly(1, 2, 4, 3, kakashi.getId(), jiraiya.getId(), tobi.getId());
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor em ordem crescente começando pelos nulos")
+    void devePaginarPorCursorEmOrdemCrescente() {
+        // Given: um ninja sem nível de força
+        NinjaEntity tobi = criarNinja("Tobi", "Akatsuki", Rank.GENIN);
+        tobi.setNivelForca(null);
+        entityManager.persistAndFlush(tobi);
+        entityManager.clear();
+        Specification<NinjaEntity> todos = (root, query, builder) -> null;
+        Sort.Order order = Sort.Order.asc("nivelForca");
+
+        // When: buscar a primeira página e a seguinte a partir do cursor
+        List<NinjaEntity> primeira = ninjaRepository.findAfter(todos, order, null, 2);
+        List<NinjaEntity> segunda = ninjaRepository.findAfter(todos, order, KeysetCursor.after(primeira.getLast(), order), 10);
+
+        // Then: nulo primeiro, depois os demais em ordem crescente
+        assertThat(primeira).extracting(NinjaEntity::getId).containsExactly(tobi.getId(), 3);
+        assertThat(segunda).extracting(NinjaEntity::getId).containsExactly(4, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor ordenando por data de registro")
+    void devePaginarPorCursorPorDataDeRegistro() {
+        // Given: dois ninjas registrados antes dos dados iniciais (registrados hoje)
+        NinjaEntity hiruzen = criarNinja("Hiruzen Sarutobi", "Konoha", Rank.HOKAGE);
+        hiruzen.setDataRegistro(LocalDate.of(2000, 1, 1));
+        NinjaEntity tobirama = criarNinja("Tobirama Senju", "Konoha", Rank.HOKAGE);
+        tobirama.setDataRegistro(LocalDate.of(1990, 1, 1));
+        entityManager.persist(hiruzen);
+        entityManager.persistAndFlush(tobirama);
+        entityManager.clear();
+        Specification<NinjaEntity> todos = (root, query, builder) -> null;
+        Sort.Order order = Sort.Order.asc("dataRegistro");
+
+        // When: percorrer as páginas de 2 em 2 pelo cursor serializado
+        List<Integer> ids = percorrerPorCursor(todos, order, 2);
+
+        // Then: mais antigos primeiro, empates de data por id
+        assertThat(ids).containsExactly(tobirama.getId(), hiruzen.getId(), 1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor ordenando por rank pelo código")
+    void devePaginarPorCursorPorRank() {
+        // Given: Sasuke e Sakura empatados em Jounin, Naruto Hokage e Gaara Kazekage
+        Specification<NinjaEntity> todos = (root, query, builder) -> null;
+        Sort.Order order = Sort.Order.desc("rank");
+
+        // When: percorrer as páginas de 1 em 1 pelo cursor serializado
+        List<Integer> ids = percorrerPorCursor(todos, order, 1);
+
+        // Then: ordem hierárquica decrescente, empates por id
+        assertThat(ids).containsExactly(4, 1, 3, 2);
+    }
+
+    @Test
+    @DisplayName("Deve buscar fatia sem contagem indicando se há próxima página")
+    void deveBuscarFatiaSemContagem() {
+        // Given: 3 ninjas de Konoha nos dados iniciais
+        Specification<NinjaEntity> konoha = (root, query, builder) -> builder.equal(root.get("vila"), "Konoha");
+
+        // When: buscar as duas páginas de tamanho 2
+        Slice<NinjaEntity> primeira = ninjaRepository.findSlice(konoha, PageRequest.of(0, 2, Sort.by("id")));
+        Slice<NinjaEntity> segunda = ninjaRepository.findSlice(konoha, PageRequest.of(1, 2, Sort.by("id")));
+
+        // Then: a linha excedente só sinaliza a próxima página
+        assertThat(primeira.getContent()).extracting(NinjaEntity::getId).containsExactly(1, 2);
+        assertThat(primeira.hasNext()).isTrue();
+        assertThat(segunda.getContent()).extracting(NinjaEntity::getId).containsExactly(3);
+        assertThat(segunda.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve montar NinjaResponse no SELECT sem gerenciar entidades")
+    void deveBuscarRespostasSemEntidadesGerenciadas() {
+        // Given: contexto de persistência vazio e 3 ninjas de Konoha nos dados iniciais
+        Specification<NinjaEntity> konoha = (root, query, builder) -> builder.equal(root.get("vila"), "Konoha");
+        entityManager.clear();
+
+        // When
+        Page<NinjaResponse> pagina = ninjaRepository.findResponses(konoha, PageRequest.of(0, 2, Sort.by("id")));
+
+        // Then: mesmos valores do mapper, total pelo COUNT e nenhuma entidade no contexto
+        assertThat(pagina.getContent()).extracting(NinjaResponse::id).containsExactly(1, 2);
+        assertThat(pagina.getTotalElements()).isEqualTo(3);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(pagina.getContent().getFirst()).isEqualTo(MAPPER.toResponse(entityManager.find(NinjaEntity.class, 1)));
+    }
+
+    @Test
+    @DisplayName("Deve contar facetas e agregar nível de força com o filtro da busca")
+    void deveCalcularEstatisticasComFiltro() {
+        // Given: Konoha nos dados iniciais (níveis 98, 97 e 85)
+        Specification<NinjaEntity> konoha = NinjaSpecifications.of(new NinjaQueryRequest(null, List.of("Konoha"),
+            null, null, null, null, null, null, null, null, null, null, null));
+
+        // When
+        NinjaStatsResponse stats = ninjaRepository.stats(konoha);
+
+        // Then
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.vila()).containsOnlyKeys("Konoha");
+        assertThat(stats.rank()).containsEntry("Jounin", 2L).containsEntry("Hokage", 1L);
+        assertThat(stats.status()).containsEntry("Ativo", 2L).containsEntry("Renegado", 1L);
+        assertThat(stats.chakraTipo()).containsOnlyKeys("Vento", "Fogo", "Terra");
+        assertThat(stats.nivelForcaMedia()).isEqualTo(93.33);
+        assertThat(stats.nivelForcaMaximo()).isEqualTo(98);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por várias vilas e faixa de nível de força")
+    void deveFiltrarPorVariasVilasEFaixaDeNivelDeForca() {
+        // Given: Konoha ou Sunagakure com nível entre 90 e 97
+        NinjaQueryRequest consulta = new NinjaQueryRequest(null, List.of("Sunagakure", "Konoha", "Konoha"), null, null,
+            null, null, null, null, null, 90, 97, null, null);
+
+        // When
+        List<NinjaEntity> ninjas = ninjaRepository.findAll(NinjaSpecifications.of(consulta), Sort.by("id"));
+
+        // Then: Naruto (98) e Sakura (85) ficam de fora
+        assertThat(ninjas).extracting(NinjaEntity::getNome).containsExactly("Sasuke Uchiha", "Gaara");
+    }
+
+    @Test
+    @DisplayName("Deve gravar rank, status e chakra_tipo como códigos e filtrar pelos rótulos")
+    void deveGravarCodigosEFiltrarPelosRotulos() {
+        // Given: Gaara (Kazekage, Vento, Ativo) no data.sql
+        Object[] colunas = (Object[]) entityManager.getEntityManager()
+            .createNativeQuery("select rank, chakra_tipo, status from ninja where id_ninja = 4")
+            .getSingleResult();
+
+        // When: filtro pelos rótulos da API, com um rótulo desconhecido na lista
+        List<NinjaEntity> kages = ninjaRepository.findAll(NinjaSpecifications.of(new NinjaQueryRequest(null, null, null,
+            List.of("Kazekage", "Hokage", "Sensei"), null, null, null, null, null, null, null, null, null)), Sort.by("id"));
+        List<NinjaEntity> nenhum = ninjaRepository.findAll(NinjaSpecifications.of(new NinjaQueryRequest(null, null, null,
+            List.of("Sensei"), null, null, null, null, null, null, null, null, null)));
+
+        // Then: códigos na coluna, constantes na entidade e rótulo desconhecido sem resultado
+        assertThat(colunas).extracting(valor -> ((Number) valor).intValue()).containsExactly(7, 2, 1);
+        assertThat(kages).extracting(NinjaEntity::getRank).containsExactly(Rank.HOKAGE, Rank.KAZEKAGE);
+        assertThat(nenhum).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve buscar por prefixo do nome tratando curingas como texto")
+    void deveBuscarPorPrefixoDoNomeEscapandoCuringas() {
+        // Given: um ninja cujo nome contém % e _
+        entityManager.persistAndFlush(criarNinja("Sa_100%", "Konoha", Rank.GENIN));
+
+        // When
+        List<NinjaEntity> prefixoSa = ninjaRepository.findAll(NinjaSpecifications.of(
+            new NinjaQueryRequest("Sa", null, null, null, null, null, null, null, null, null, null, null, null)), Sort.by("nome"));
+        List<NinjaEntity> prefixoComCuringa = ninjaRepository.findAll(NinjaSpecifications.of(
+            new NinjaQueryRequest("Sa_", null, null, null, null, null, null, null, null, null, null, null, null)), Sort.by("nome"));
+
+        // Then: "_" não casa com qualquer caractere
+        assertThat(prefixoSa).extracting(NinjaEntity::getNome).containsExactly("Sa_100%", "Sakura Haruno", "Sasuke Uchiha");
+        assertThat(prefixoComCuringa).extracting(NinjaEntity::getNome).containsExactly("Sa_100%");
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por faixa de data de registro")
+    void deveFiltrarPorFaixaDeDataDeRegistro() {
+        // Given: um ninja registrado em 2020
+        NinjaEntity antigo = criarNinja("Hashirama Senju", "Konoha", Rank.HOKAGE);
+        antigo.setDataRegistro(LocalDate.of(2020, 5, 1));
+        entityManager.persistAndFlush(antigo);
+
+        // When
+        List<NinjaEntity> ninjas = ninjaRepository.findAll(NinjaSpecifications.of(new NinjaQueryRequest(null, null, null,
+            null, null, null, null, null, null, null, null, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31))));
+
+        // Then
+        assertThat(ninjas).extracting(NinjaEntity::getNome).containsExactly("Hashirama Senju");
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão a cada alteração e consultá-la sem carregar o ninja")
+    void deveIncrementarVersaoACadaAlteracao() {
+        // Given: Naruto carregado do data.sql na versão 0
+        assertThat(ninjaRepository.findVersionById(1)).contains(0);
+        NinjaEntity naruto = ninjaRepository.findById(1).orElseThrow();
+
+        // When: alterar e sincronizar com o banco
+        naruto.setNivelForca(99);
+        entityManager.flush();
+
+        // Then
+        assertThat(ninjaRepository.findVersionById(1)).contains(1);
+        assertThat(ninjaRepository.findVersionById(999)).isEmpty();
+    }
+
     /**
      * Método helper para criar ninjas nos testes
      */
-    private NinjaEntity criarNinja(String nome, String vila, String rank) {
+    private List<Integer> percorrerPorCursor(Specification<NinjaEntity> spec, Sort.Order order, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        KeysetCursor cursor = null;
+        List<NinjaEntity> pagina;
+        do {
+            pagina = ninjaRepository.findAfter(spec, order, cursor, limit);
+            pagina.forEach(ninja -> ids.add(ninja.getId()));
+            cursor = pagina.isEmpty() ? null : KeysetCursor.decode(KeysetCursor.after(pagina.getLast(), order).encode());
+        } while (pagina.size() == limit);
+        return ids;
+    }
+
+    private NinjaEntity criarNinja(String nome, String vila, Rank rank) {
         NinjaEntity ninja = new NinjaEntity();
         ninja.setNome(nome);
         ninja.setVila(vila);
         ninja.setRank(rank);
-        ninja.setChakraTipo("Fogo");
-        ninja.setStatus("Ativo");
+        ninja.setChakraTipo(ChakraTipo.FOGO);
+        ninja.setStatus(Status.ATIVO);
         ninja.setNivelForca(80);
         ninja.setDataRegistro(LocalDate.now());
         return ninja;
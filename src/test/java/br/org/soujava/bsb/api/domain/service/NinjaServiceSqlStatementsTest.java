@@ -0,0 +1,260 @@
+package br.org.soujava.bsb.api.domain.service;
+
+import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
+import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBulkDeleteResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
+import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
+import br.org.soujava.bsb.api.domain.repository.NinjaRepository;
+import br.org.soujava.bsb.api.infrastructure.jdbc.SqlStatementRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Quantidade exata de comandos SQL por operação do {@link NinjaService}, contra o H2 real. Uma mudança
+ * que acrescente um SELECT antes de um UPDATE, ou um COUNT a mais na busca, falha aqui.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:sql-statements;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+    "ninja.sql.slow-query-threshold=0ms"
+})
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("Ninja Service - Comandos SQL")
+class NinjaServiceSqlStatementsTest {
+
+    @Autowired
+    private NinjaService service;
+
+    @Autowired
+    private NinjaRepository repository;
+
+    @Test
+    @DisplayName("Deve buscar por id com um único SELECT")
+    void deveBuscarPorIdComUmSelect() throws ResourceNotFoundException {
+        // When
+        try (var sql = SqlStatementRecorder.start("findById")) {
+            service.findById(1);
+
+            // Then
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.selects()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar com um único INSERT e criar o lote com um INSERT em batch")
+    void deveCriarComUmInsert() {
+        // When / Then: a sequence (blocos de 50) pode ou não ser consultada, o INSERT é sempre um
+        try (var sql = SqlStatementRecorder.start("create")) {
+            service.create(request("Konohamaru Sarutobi"));
+            assertThat(sql.inserts()).isEqualTo(1);
+            assertThat(sql.updates()).isZero();
+        }
+        try (var sql = SqlStatementRecorder.start("createAll")) {
+            service.createAll(List.of(request("Udon"), request("Moegi"), request("Hanabi Hyuga")));
+            assertThat(sql.inserts()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atualizar com If-Match em um único UPDATE, sem SELECT")
+    void deveAtualizarComUmUpdate() throws ResourceNotFoundException {
+        // Given
+        final var ninja = service.create(request("Iruka Umino"));
+
+        // When
+        try (var sql = SqlStatementRecorder.start("update")) {
+            service.update(ninja.getId(), ninja.getVersion(), request("Iruka Umino"));
+
+            // Then
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.updates()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler a versão só depois de um UPDATE condicional sem linhas afetadas")
+    void deveLerVersaoSoNoConflito() {
+        // When
+        try (var sql = SqlStatementRecorder.start("update conflict")) {
+            assertThatThrownBy(() -> service.update(2, 999, request("Sasuke Uchiha")))
+                    .isInstanceOf(PreconditionFailedException.class);
+
+            // Then: UPDATE com 0 linhas + SELECT da versão atual
+            assertThat(sql.updates()).isEqualTo(1);
+            assertThat(sql.selects()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar patch e excluir com um único comando cada")
+    void deveAplicarPatchEExcluirComUmComando() throws ResourceNotFoundException {
+        // Given
+        final var ninja = service.create(request("Ebisu"));
+        final var values = new NinjaEntity();
+        values.setNivelForca(60);
+
+        // When / Then
+        try (var sql = SqlStatementRecorder.start("patch")) {
+            service.patch(ninja.getId(), null, values, Set.of("nivelForca"));
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.updates()).isEqualTo(1);
+        }
+        try (var sql = SqlStatementRecorder.start("exists")) {
+            assertThat(service.exists(ninja.getId())).isTrue();
+            assertThat(sql.statements()).isEqualTo(1);
+        }
+        try (var sql = SqlStatementRecorder.start("delete")) {
+            service.delete(ninja.getId());
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.deletes()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar patch por filtro com um SELECT FOR UPDATE e um único UPDATE")
+    void deveAplicarPatchPorFiltroComUmUpdate() {
+        // Given: três ninjas numa vila só deles
+        final var ids = service.createAll(List.of(ameNin("Konan"), ameNin("Yahiko"), ameNin("Nagato")));
+        final var amegakure = new NinjaQueryRequest(null, List.of("Amegakure"), null, null, null, null, null, null, null, null, null, null, null);
+        final var valores = new NinjaEntity();
+        valores.setStatus(Status.DESAPARECIDO);
+
+        // When / Then
+        try (var sql = SqlStatementRecorder.start("patchAll")) {
+            assertThat(service.patchAll(amegakure, valores, Set.of("status"))).containsExactlyElementsOf(ids);
+            assertThat(sql.statements()).isEqualTo(2);
+            assertThat(sql.selects()).isEqualTo(1);
+            assertThat(sql.updates()).isEqualTo(1);
+        }
+        assertThat(repository.findAllById(ids)).allSatisfy(ninja -> {
+            assertThat(ninja.getStatus()).isEqualTo(Status.DESAPARECIDO);
+            assertThat(ninja.getVersion()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve excluir em massa com um SELECT FOR UPDATE e um DELETE por lote")
+    void deveExcluirEmMassaComUmDeletePorLote() {
+        // Given: dois ninjas numa vila só deles e dois para excluir por id
+        service.createAll(List.of(otoNin("Kabuto"), otoNin("Tayuya")));
+        final var ids = service.createAll(List.of(request("Zabuza"), request("Haku")));
+        final var otogakure = new NinjaQueryRequest(null, List.of("Otogakure"), null, null, null, null, null, null, null, null, null, null, null);
+
+        // When / Then: ids num lote só, com um id inexistente
+        try (var sql = SqlStatementRecorder.start("deleteAll ids")) {
+            final var resultado = service.deleteAll(List.of(ids.get(0), 999_999, ids.get(1)));
+            assertThat(resultado).isEqualTo(new NinjaBulkDeleteResponse(2, 1, List.of(999_999)));
+            assertThat(sql.statements()).isEqualTo(2);
+            assertThat(sql.deletes()).isEqualTo(1);
+        }
+        try (var sql = SqlStatementRecorder.start("deleteAll filter")) {
+            assertThat(service.deleteAll(otogakure).deleted()).isEqualTo(2);
+            assertThat(sql.deletes()).isEqualTo(1);
+        }
+        assertThat(repository.findAllById(ids)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve buscar com SELECT e COUNT e reaproveitar o cache na repetição")
+    void deveBuscarComSelectECount() {
+        // Given: página cheia (com menos linhas que o tamanho da página o Spring Data dispensa o COUNT)
+        final var query = new NinjaQueryRequest(null, List.of("Konoha"), null, null, null, null, null, null, null, null, null, null, null);
+        final var pagina = PageRequest.of(0, 1);
+
+        // When / Then
+        try (var sql = SqlStatementRecorder.start("search")) {
+            service.search(query, pagina);
+            assertThat(sql.selects()).isEqualTo(2);
+        }
+        try (var sql = SqlStatementRecorder.start("search cached")) {
+            service.search(query, pagina);
+            assertThat(sql.statements()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve buscar texto pelo índice em memória com um único SELECT da página")
+    void deveBuscarTextoComUmSelect() {
+        // Given: índice construído na subida; o ninja criado entra pelo evento, sem reconstrução
+        final var ninja = service.create(request("Tenten Mãe-das-Armas"));
+
+        // When / Then
+        try (var sql = SqlStatementRecorder.start("searchText")) {
+            final var slice = service.searchText("mae armas", PageRequest.of(0, 5));
+            assertThat(slice.getContent()).extracting(NinjaResponse::id).containsExactly(ninja.getId());
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.selects()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve responder estatísticas sem filtro da memória, inclusive depois de escritas")
+    void deveResponderEstatisticasSemFiltroDaMemoria() throws ResourceNotFoundException {
+        // Given: primeira chamada carrega os contadores
+        final long total = service.stats(semFiltro()).total();
+        final var ninja = service.create(request("Shino Aburame"));
+        final var valores = new NinjaEntity();
+        valores.setVila("Sunagakure");
+        service.patch(ninja.getId(), null, valores, Set.of("vila"));
+
+        // When
+        final NinjaStatsResponse stats;
+        try (var sql = SqlStatementRecorder.start("stats")) {
+            stats = service.stats(semFiltro());
+            assertThat(sql.statements()).isZero();
+        }
+
+        // Then: criação e patch já refletidos, iguais ao GROUP BY no banco
+        assertThat(stats.total()).isEqualTo(total + 1);
+        assertThat(stats).isEqualTo(repository.stats((root, query, builder) -> null));
+    }
+
+    @Test
+    @DisplayName("Deve logar comando lento com parâmetros e plano, e avisar SELECT repetido")
+    void deveLogarComandoLentoEPossivelNMaisUm(CapturedOutput output) throws ResourceNotFoundException {
+        // When: limite de 0 ms faz todo comando ser "lento"; o mesmo SELECT 10 vezes
+        try (var sql = SqlStatementRecorder.start("n+1")) {
+            for (int i = 0; i < 10; i++) {
+                service.findById(3);
+            }
+            assertThat(sql.selects()).isEqualTo(10);
+        }
+
+        // Then
+        assertThat(output).contains("Slow SQL", "parameters [3]", "plan: SELECT", "PRIMARY_KEY");
+        assertThat(output).contains("Possible N+1 in 'n+1': same select executed 10 times");
+    }
+
+    private static NinjaQueryRequest semFiltro() {
+        return new NinjaQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static NinjaRequest request(String nome) {
+        return new NinjaRequest(nome, "Konoha", null, "Genin", "Fogo", null, null, "Ativo", 40, null);
+    }
+
+    private static NinjaRequest otoNin(String nome) {
+        return new NinjaRequest(nome, "Otogakure", null, "Chunin", "Terra", null, null, "Renegado", 60, null);
+    }
+
+    private static NinjaRequest ameNin(String nome) {
+        return new NinjaRequest(nome, "Amegakure", null, "Jounin", "Água", null, null, "Ativo", 80, null);
+    }
+}
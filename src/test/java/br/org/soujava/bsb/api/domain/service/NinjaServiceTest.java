@@ -2,34 +2,63 @@ package br.org.soujava.bsb.api.domain.service;
 
 import br.org.soujava.bsb.api.api.v1.request.NinjaQueryRequest;
 import br.org.soujava.bsb.api.api.v1.request.NinjaRequest;
+import br.org.soujava.bsb.api.api.v1.response.NinjaBulkDeleteResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaResponse;
+import br.org.soujava.bsb.api.api.v1.response.NinjaStatsResponse;
+import br.org.soujava.bsb.api.core.cache.NinjaSearchCache;
+import br.org.soujava.bsb.api.core.search.NinjaNameSuggestions;
+import br.org.soujava.bsb.api.core.search.NinjaTextIndex;
+import br.org.soujava.bsb.api.core.stats.NinjaStatsCounters;
+import br.org.soujava.bsb.api.domain.entity.ChakraTipo;
 import br.org.soujava.bsb.api.domain.entity.NinjaEntity;
+import br.org.soujava.bsb.api.domain.entity.Rank;
+import br.org.soujava.bsb.api.domain.entity.Status;
+import br.org.soujava.bsb.api.domain.event.NinjaChangedEvent;
+import br.org.soujava.bsb.api.domain.exception.BusinessException;
+import br.org.soujava.bsb.api.domain.exception.PreconditionFailedException;
 import br.org.soujava.bsb.api.domain.exception.ResourceNotFoundException;
 import br.org.soujava.bsb.api.domain.repository.NinjaRepository;
+import br.org.soujava.bsb.api.infrastructure.config.NinjaProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Example;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static br.org.soujava.bsb.api.core.mapper.NinjaMapper.MAPPER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +68,27 @@ class NinjaServiceTest {
     @Mock
     private NinjaRepository ninjaRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private NinjaProperties properties;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private NinjaSearchCache searchCache;
+
+    @Mock
+    private NinjaStatsCounters statsCounters;
+
+    @Mock
+    private NinjaTextIndex textIndex;
+
+    @Mock
+    private NinjaNameSuggestions nameSuggestions;
+
     @InjectMocks
     private NinjaService ninjaService;
 
@@ -54,11 +104,11 @@ class NinjaServiceTest {
         ninjaEntity.setNome("Naruto Uzumaki");
         ninjaEntity.setVila("Konoha");
         ninjaEntity.setCla("Uzumaki");
-        ninjaEntity.setRank("Hokage");
-        ninjaEntity.setChakraTipo("Vento");
+        ninjaEntity.setRank(Rank.HOKAGE);
+        ninjaEntity.setChakraTipo(ChakraTipo.VENTO);
         ninjaEntity.setEspecialidade("Ninjutsu");
         ninjaEntity.setKekkeiGenkai("Kurama (Bijuu)");
-        ninjaEntity.setStatus("Ativo");
+        ninjaEntity.setStatus(Status.ATIVO);
         ninjaEntity.setNivelForca(98);
         ninjaEntity.setDataRegistro(LocalDate.now());
 
@@ -77,13 +127,17 @@ class NinjaServiceTest {
 
         ninjaQueryRequest = new NinjaQueryRequest(
                 "Naruto",
-                "Konoha",
+                List.of("Konoha"),
                 null,
                 null,
                 null,
                 null,
                 null,
-                "Ativo",
+                List.of("Ativo"),
+                null,
+                null,
+                null,
+                null,
                 null
         );
     }
@@ -144,43 +198,93 @@ class NinjaServiceTest {
     @DisplayName("Deve fazer busca paginada com filtros")
     void deveFazerBuscaPaginadaComFiltros() {
         // Given: preparar dados paginados
-        List<NinjaEntity> ninjas = List.of(ninjaEntity);
-        Page<NinjaEntity> page = new PageImpl<>(ninjas, PageRequest.of(0, 10), 1);
+        List<NinjaResponse> ninjas = List.of(MAPPER.toResponse(ninjaEntity));
+        Page<NinjaResponse> page = new PageImpl<>(ninjas, PageRequest.of(0, 10), 1);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(ninjaRepository.findAll(any(Example.class), eq(pageable))).thenReturn(page);
+        when(ninjaRepository.findResponses(any(Specification.class), eq(pageable))).thenReturn(page);
+        when(searchCache.get(eq(ninjaQueryRequest), eq(pageable), any())).thenAnswer(invocation ->
+                invocation.<Supplier<Page<NinjaResponse>>>getArgument(2).get());
 
         // When: fazer busca
-        Page<NinjaEntity> resultado = ninjaService.search(ninjaQueryRequest, pageable);
+        Page<NinjaResponse> resultado = ninjaService.search(ninjaQueryRequest, pageable);
 
         // Then: deve retornar página com resultados
         assertThat(resultado).isNotNull();
         assertThat(resultado.getContent()).hasSize(1);
-        assertThat(resultado.getContent().get(0).getNome()).isEqualTo("Naruto Uzumaki");
+        assertThat(resultado.getContent().get(0).nome()).isEqualTo("Naruto Uzumaki");
         assertThat(resultado.getTotalElements()).isEqualTo(1L);
 
-        // Verificar que o repository foi chamado com Example
-        verify(ninjaRepository, times(1)).findAll(any(Example.class), eq(pageable));
+        // Verificar que o repository foi chamado com Specification, sem carregar entidades
+        verify(ninjaRepository, times(1)).findResponses(any(Specification.class), eq(pageable));
+        verify(ninjaRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("Deve buscar página vazia quando não há resultados")
     void deveBuscarPaginaVaziaQuandoNaoHaResultados() {
         // Given: repository retornará página vazia
-        Page<NinjaEntity> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        Page<NinjaResponse> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(ninjaRepository.findAll(any(Example.class), eq(pageable))).thenReturn(emptyPage);
+        when(ninjaRepository.findResponses(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
+        when(searchCache.get(eq(ninjaQueryRequest), eq(pageable), any())).thenAnswer(invocation ->
+                invocation.<Supplier<Page<NinjaResponse>>>getArgument(2).get());
 
         // When: fazer busca
-        Page<NinjaEntity> resultado = ninjaService.search(ninjaQueryRequest, pageable);
+        Page<NinjaResponse> resultado = ninjaService.search(ninjaQueryRequest, pageable);
 
         // Then: deve retornar página vazia
         assertThat(resultado).isNotNull();
         assertThat(resultado.getContent()).isEmpty();
         assertThat(resultado.getTotalElements()).isEqualTo(0L);
 
-        verify(ninjaRepository, times(1)).findAll(any(Example.class), eq(pageable));
+        verify(ninjaRepository, times(1)).findResponses(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Deve ler só a página da busca textual e manter a ordem do ranking")
+    void deveBuscarTextoNaOrdemDoRanking() {
+        // Given: ranking 3, 1, 2 e o banco devolvendo em ordem de id
+        when(textIndex.search(eq("uchiha"), eq(3), any())).thenReturn(List.of(
+                new NinjaTextIndex.Hit(3, 2.5), new NinjaTextIndex.Hit(1, 1.5), new NinjaTextIndex.Hit(2, 0.5)));
+        when(ninjaRepository.findResponses(any(Specification.class), eq(Pageable.unpaged())))
+                .thenReturn(new PageImpl<>(List.of(resposta(1), resposta(3))));
+
+        // When
+        var slice = ninjaService.searchText("uchiha", PageRequest.of(0, 2));
+
+        // Then
+        assertThat(slice.getContent()).extracting(NinjaResponse::id).containsExactly(3, 1);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve devolver página vazia da busca textual quando o deslocamento passa do int")
+    void deveDevolverPaginaVaziaComDeslocamentoEnorme() {
+        // When: page=2147483647&size=100
+        var slice = ninjaService.searchText("uchiha", PageRequest.of(Integer.MAX_VALUE, 100));
+
+        // Then: sem ArithmeticException e sem consultar índice ou banco
+        assertThat(slice.getContent()).isEmpty();
+        assertThat(slice.hasNext()).isFalse();
+        verifyNoInteractions(textIndex, ninjaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve usar os contadores em memória sem filtros e GROUP BY com filtros")
+    void deveCalcularEstatisticasPelosContadoresOuPeloBanco() {
+        // Given
+        NinjaStatsResponse memoria = NinjaStatsResponse.of(4, Map.of(), Map.of(), Map.of(), Map.of(), 4, 375, 98);
+        NinjaStatsResponse banco = NinjaStatsResponse.of(3, Map.of(), Map.of(), Map.of(), Map.of(), 3, 280, 98);
+        when(statsCounters.get(any())).thenReturn(memoria);
+        when(ninjaRepository.stats(any(Specification.class))).thenReturn(banco);
+        NinjaQueryRequest semFiltro = new NinjaQueryRequest(" ", List.of(), null, null, null, null, null, null, null, null, null, null, null);
+
+        // When / Then: filtros vazios contam como sem filtro
+        assertThat(ninjaService.stats(semFiltro)).isSameAs(memoria);
+        assertThat(ninjaService.stats(ninjaQueryRequest)).isSameAs(banco);
+        verify(ninjaRepository, times(1)).stats(any(Specification.class));
     }
 
     @Test
@@ -191,7 +295,7 @@ class NinjaServiceTest {
         ninjaAtualizado.setId(1);
         ninjaAtualizado.setNome("Naruto Uzumaki Atualizado");
         ninjaAtualizado.setVila("Konoha");
-        ninjaAtualizado.setRank("Hokage");
+        ninjaAtualizado.setRank(Rank.HOKAGE);
 
         when(ninjaRepository.findById(1)).thenReturn(Optional.of(ninjaEntity));
         when(ninjaRepository.save(any(NinjaEntity.class))).thenReturn(ninjaAtualizado);
@@ -238,35 +342,161 @@ class NinjaServiceTest {
         verify(ninjaRepository, never()).save(any(NinjaEntity.class));
     }
 
+    @Test
+    @DisplayName("Deve atualizar com UPDATE condicional sem ler o ninja antes")
+    void deveAtualizarComUpdateCondicional() throws ResourceNotFoundException {
+        // Given: a linha está na versão esperada
+        when(ninjaRepository.updateIfVersion(eq(1), eq(3), any(NinjaEntity.class))).thenReturn(1);
+
+        // When
+        Integer novaVersao = ninjaService.update(1, 3, ninjaRequest);
+
+        // Then: nova versão sem SELECT e evento sem vilas conhecidas, com os valores gravados
+        assertThat(novaVersao).isEqualTo(4);
+        verify(ninjaRepository, never()).findById(any());
+        verify(ninjaRepository, never()).findVersionById(any());
+        ArgumentCaptor<NinjaChangedEvent.Updated> evento = ArgumentCaptor.forClass(NinjaChangedEvent.Updated.class);
+        verify(events).publishEvent(evento.capture());
+        assertThat(evento.getValue().ids()).containsExactly(1);
+        assertThat(evento.getValue().vilas()).isEmpty();
+        assertThat(evento.getValue().values().getNome()).isEqualTo("Naruto Uzumaki");
+        assertThat(evento.getValue().attributes()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar PreconditionFailedException quando a versão mudou")
+    void deveLancarPreconditionFailedQuandoVersaoMudou() {
+        // Given: nenhuma linha alterada e o ninja está na versão 4
+        when(ninjaRepository.updateIfVersion(eq(1), eq(3), any(NinjaEntity.class))).thenReturn(0);
+        when(ninjaRepository.findVersionById(1)).thenReturn(Optional.of(4));
+
+        // When/Then
+        assertThatThrownBy(() -> ninjaService.update(1, 3, ninjaRequest))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Ninja 1 is at version 4, not 3");
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException no UPDATE condicional de ninja inexistente")
+    void deveLancarNotFoundNoUpdateCondicionalDeNinjaInexistente() {
+        // Given
+        when(ninjaRepository.updateIfVersion(eq(999), eq(1), any(NinjaEntity.class))).thenReturn(0);
+        when(ninjaRepository.findVersionById(999)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> ninjaService.update(999, 1, ninjaRequest))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar merge patch só nas colunas informadas")
+    void deveAplicarPatchSomenteNasColunasInformadas() throws ResourceNotFoundException {
+        // Given
+        NinjaEntity valores = new NinjaEntity();
+        valores.setStatus(Status.RENEGADO);
+        when(ninjaRepository.updateColumns(1, null, valores, Set.of("status"))).thenReturn(1);
+
+        // When
+        Integer versao = ninjaService.patch(1, null, valores, Set.of("status"));
+
+        // Then: sem versão esperada a nova versão não é conhecida
+        assertThat(versao).isNull();
+        verify(ninjaRepository, never()).findById(any());
+        verify(events).publishEvent(new NinjaChangedEvent.Updated(Set.of(1), Set.of(), valores, Set.of("status")));
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException no patch de ninja inexistente")
+    void deveLancarNotFoundNoPatchDeNinjaInexistente() {
+        // Given
+        when(ninjaRepository.updateColumns(eq(999), eq(null), any(NinjaEntity.class), eq(Set.of("status")))).thenReturn(0);
+        when(ninjaRepository.findVersionById(999)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> ninjaService.patch(999, null, new NinjaEntity(), Set.of("status")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve conferir a versão sem gravar quando o patch é vazio")
+    void deveConferirVersaoSemGravarNoPatchVazio() throws ResourceNotFoundException {
+        // Given
+        when(ninjaRepository.findVersionById(1)).thenReturn(Optional.of(4));
+
+        // When/Then
+        assertThat(ninjaService.patch(1, 4, new NinjaEntity(), Set.of())).isEqualTo(4);
+        assertThatThrownBy(() -> ninjaService.patch(1, 3, new NinjaEntity(), Set.of()))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(ninjaRepository, never()).updateColumns(any(), any(), any(), any());
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar patch por filtro com um UPDATE pelos ids travados e publicar os ids")
+    void deveAplicarPatchPorFiltro() {
+        // Given
+        NinjaEntity valores = new NinjaEntity();
+        valores.setStatus(Status.DESAPARECIDO);
+        when(properties.bulk()).thenReturn(new NinjaProperties.Bulk(2, 500));
+        when(ninjaRepository.findIdsForUpdate(any(), eq(3))).thenReturn(List.of(1, 3));
+        when(ninjaRepository.updateColumnsByIds(List.of(1, 3), valores, Set.of("status"))).thenReturn(2);
+
+        // When
+        List<Integer> ids = ninjaService.patchAll(ninjaQueryRequest, valores, Set.of("status"));
+
+        // Then
+        assertThat(ids).containsExactly(1, 3);
+        verify(events).publishEvent(new NinjaChangedEvent.Updated(Set.of(1, 3), Set.of(), valores, Set.of("status")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar patch por filtro sem filtros ou acima do limite de linhas, sem gravar")
+    void deveRecusarPatchPorFiltroSemFiltroOuAcimaDoLimite() {
+        // Given: limite de 2 e 3 ninjas no filtro
+        NinjaQueryRequest semFiltro = new NinjaQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        when(properties.bulk()).thenReturn(new NinjaProperties.Bulk(2, 500));
+        when(ninjaRepository.findIdsForUpdate(any(), eq(3))).thenReturn(List.of(1, 2, 3));
+
+        // When/Then
+        assertThatThrownBy(() -> ninjaService.patchAll(semFiltro, new NinjaEntity(), Set.of("status")))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> ninjaService.patchAll(ninjaQueryRequest, new NinjaEntity(), Set.of("status")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("more than 2");
+        verify(ninjaRepository, never()).updateColumnsByIds(any(), any(), any());
+        verify(events, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("Deve deletar ninja existente com sucesso")
     void deveDeletarNinjaExistenteComSucesso() throws ResourceNotFoundException {
-        // Given: ninja existe
-        when(ninjaRepository.findById(1)).thenReturn(Optional.of(ninjaEntity));
-        doNothing().when(ninjaRepository).delete(ninjaEntity);
+        // Given: DELETE remove uma linha
+        when(ninjaRepository.deleteRowById(1)).thenReturn(1);
 
         // When: deletar ninja
         ninjaService.delete(1);
 
-        // Then: deve chamar findById e delete
-        verify(ninjaRepository, times(1)).findById(1);
-        verify(ninjaRepository, times(1)).delete(ninjaEntity);
+        // Then: um único DELETE, sem carregar a entidade
+        verify(ninjaRepository, times(1)).deleteRowById(1);
+        verify(ninjaRepository, never()).findById(any());
+        verify(events).publishEvent(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar deletar ninja inexistente")
     void deveLancarExcecaoAoTentarDeletarNinjaInexistente() {
-        // Given: ninja não existe
-        when(ninjaRepository.findById(999)).thenReturn(Optional.empty());
+        // Given: nenhuma linha removida
+        when(ninjaRepository.deleteRowById(999)).thenReturn(0);
 
         // When/Then: deve lançar ResourceNotFoundException
         assertThatThrownBy(() -> ninjaService.delete(999))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Not found regitstry with code 999");
 
-        // Verificar que findById foi chamado, mas delete não
-        verify(ninjaRepository, times(1)).findById(999);
-        verify(ninjaRepository, never()).delete(any(NinjaEntity.class));
+        verify(ninjaRepository, never()).findById(any());
+        verify(events, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -329,7 +559,7 @@ class NinjaServiceTest {
         ninjaMinimo.setId(2);
         ninjaMinimo.setNome("Ninja Teste");
         ninjaMinimo.setVila("Vila Teste");
-        ninjaMinimo.setRank("Genin");
+        ninjaMinimo.setRank(Rank.GENIN);
 
         when(ninjaRepository.save(any(NinjaEntity.class))).thenReturn(ninjaMinimo);
 
@@ -342,4 +572,106 @@ class NinjaServiceTest {
 
         verify(ninjaRepository, times(1)).save(any(NinjaEntity.class));
     }
+
+    @Test
+    @DisplayName("Deve criar ninjas em lote dividindo as gravações em transações por chunk")
+    void deveCriarNinjasEmLoteDividindoEmChunks() {
+        // Given: chunk de 2 registros e transação que executa o callback diretamente
+        when(properties.batch()).thenReturn(new NinjaProperties.Batch(2, 10));
+        AtomicInteger sequence = new AtomicInteger(5);
+
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(ninjaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<NinjaEntity> ninjas = invocation.getArgument(0);
+            ninjas.forEach(ninja -> ninja.setId(sequence.getAndIncrement()));
+            return ninjas;
+        });
+
+        // When: criar 3 ninjas
+        List<Integer> ids = ninjaService.createAll(List.of(ninjaRequest, ninjaRequest, ninjaRequest));
+
+        // Then: 2 transações (2 + 1 registros) e ids na ordem de envio
+        assertThat(ids).containsExactly(5, 6, 7);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(ninjaRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve excluir ids em lotes e devolver os inexistentes sem interromper")
+    void deveExcluirIdsEmLotesDevolvendoInexistentes() {
+        // Given: lotes de 2 ids, transação que executa o callback diretamente, id 2 inexistente
+        when(properties.bulk()).thenReturn(new NinjaProperties.Bulk(1000, 2));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(ninjaRepository.findIdsForUpdate(any(), eq(2))).thenReturn(List.of(1), List.of(3, 4));
+
+        // When: id 4 repetido
+        NinjaBulkDeleteResponse resultado = ninjaService.deleteAll(List.of(1, 2, 3, 4, 4));
+
+        // Then: 2 transações (1, 2 | 3, 4), um DELETE e um evento por lote
+        assertThat(resultado).isEqualTo(new NinjaBulkDeleteResponse(3, 2, List.of(2)));
+        verify(ninjaRepository).deleteRowsByIds(List.of(1));
+        verify(ninjaRepository).deleteRowsByIds(List.of(3, 4));
+        verify(events).publishEvent(new NinjaChangedEvent.Deleted(Set.of(1), Set.of()));
+        verify(events).publishEvent(new NinjaChangedEvent.Deleted(Set.of(3, 4), Set.of()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar exclusão em massa com id nulo antes do primeiro lote")
+    void deveRecusarExclusaoEmMassaComIdNulo() {
+        // Given: lista vinda do JSON [1, null]
+        List<Integer> ids = Arrays.asList(1, null);
+
+        // When/Then
+        assertThatThrownBy(() -> ninjaService.deleteAll(ids))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Bulk delete ids must not be null");
+        verifyNoInteractions(transactionTemplate, ninjaRepository, events);
+    }
+
+    @Test
+    @DisplayName("Deve excluir por filtro em lotes até um lote vir incompleto e exigir filtro")
+    void deveExcluirPorFiltroEmLotes() {
+        // Given: lotes de 2, o filtro encontra 3 ninjas
+        NinjaQueryRequest semFiltro = new NinjaQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        when(properties.bulk()).thenReturn(new NinjaProperties.Bulk(1000, 2));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(ninjaRepository.findIdsForUpdate(any(), eq(2))).thenReturn(List.of(1, 3), List.of(4));
+
+        // When
+        NinjaBulkDeleteResponse resultado = ninjaService.deleteAll(ninjaQueryRequest);
+
+        // Then
+        assertThat(resultado).isEqualTo(new NinjaBulkDeleteResponse(3, 2, null));
+        verify(ninjaRepository, times(2)).findIdsForUpdate(any(), eq(2));
+        assertThatThrownBy(() -> ninjaService.deleteAll(semFiltro)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Deve contar só os lotes com exclusões quando o filtro casa um múltiplo do lote")
+    void deveContarSoLotesComExclusoes() {
+        // Given: lotes de 2, o filtro encontra exatamente 2 ninjas; o segundo SELECT vem vazio
+        when(properties.bulk()).thenReturn(new NinjaProperties.Bulk(1000, 2));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(ninjaRepository.findIdsForUpdate(any(), eq(2))).thenReturn(List.of(1, 3), List.of(), List.of());
+
+        // When
+        NinjaBulkDeleteResponse resultado = ninjaService.deleteAll(ninjaQueryRequest);
+        NinjaBulkDeleteResponse nenhum = ninjaService.deleteAll(ninjaQueryRequest);
+
+        // Then: um lote, como ceil(2 / 2) no overload por ids; filtro sem ninjas não conta lote
+        assertThat(resultado).isEqualTo(new NinjaBulkDeleteResponse(2, 1, null));
+        assertThat(nenhum).isEqualTo(new NinjaBulkDeleteResponse(0, 0, null));
+        verify(ninjaRepository).deleteRowsByIds(List.of(1, 3));
+        verify(ninjaRepository, times(3)).findIdsForUpdate(any(), eq(2));
+    }
+
+    private static NinjaResponse resposta(Integer id) {
+        return new NinjaResponse(id, "Ninja " + id, "Konoha", null, null, null, null, null, null, null, null, null);
+    }
 }